@@ -0,0 +1,62 @@
+-- Benchmark da busca por descrição antes e depois do índice de trigramas.
+-- Uso: psql -d minhasfinancas_benchmark -f scripts/benchmark/busca_descricao.sql
+-- Executar em uma base descartável: o script recria o schema financas.
+\timing on
+
+DROP SCHEMA IF EXISTS financas CASCADE;
+CREATE SCHEMA financas;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE financas.lancamento (
+    id bigint PRIMARY KEY,
+    descricao varchar(255),
+    mes integer,
+    ano integer,
+    id_usuario bigint,
+    valor numeric(16, 2),
+    data_cadastro date,
+    tipo varchar(20),
+    status varchar(20)
+);
+
+INSERT INTO financas.lancamento
+SELECT g,
+       (ARRAY['Aluguel', 'Salário', 'Supermercado', 'Farmácia', 'Combustível', 'Assinatura streaming',
+              'Conta de luz', 'Conta de água', 'Internet', 'Restaurante'])[1 + (g % 10)]
+           || ' ' || md5(g::text),
+       1 + (g % 12),
+       2015 + (g % 10),
+       1 + (g % 1000),
+       round((random() * 5000)::numeric, 2),
+       current_date,
+       CASE WHEN g % 3 = 0 THEN 'RECEITA' ELSE 'DESPESA' END,
+       'PENDENTE'
+FROM generate_series(1, 3000000) AS g;
+
+CREATE INDEX idx_lancamento_usuario ON financas.lancamento (id_usuario);
+ANALYZE financas.lancamento;
+
+-- Antes: caminho do ExampleMatcher (lower(descricao) like '%x%').
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM financas.lancamento l
+WHERE lower(l.descricao) LIKE '%mercado%';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM financas.lancamento l
+WHERE l.id_usuario = 42 AND lower(l.descricao) LIKE '%mercado%';
+
+CREATE INDEX idx_lancamento_descricao_trgm ON financas.lancamento USING gin (descricao gin_trgm_ops);
+ANALYZE financas.lancamento;
+
+-- Depois: consulta de BuscaDescricaoTrigramaRepository.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM financas.lancamento l
+WHERE l.descricao ILIKE '%mercado%'
+ORDER BY l.descricao ILIKE 'mercado%' DESC, similarity(l.descricao, 'mercado') DESC, l.id
+LIMIT 50;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM financas.lancamento l
+WHERE l.id_usuario = 42 AND l.descricao ILIKE '%mercado%'
+ORDER BY l.descricao ILIKE 'mercado%' DESC, similarity(l.descricao, 'mercado') DESC, l.id
+LIMIT 50;
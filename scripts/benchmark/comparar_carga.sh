@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Roda o mesmo gerador de carga contra variantes da aplicação, em vários níveis de concorrência. Cada
+# variante é "nome:argumentos da aplicação"; os relatórios ficam em target/carga/<nome>-<threads>.txt.
+#
+# Exemplo:
+#   scripts/benchmark/comparar_carga.sh "plataforma:--spring.threads.virtual.enabled=false" \
+#                                       "virtual:--spring.threads.virtual.enabled=true"
+#
+# Variáveis: NIVEIS (padrão "16 64 256 1024"), DURACAO (s, padrão 60), PORTA (padrão 8080), MIX.
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+if [ $# -eq 0 ]; then
+    sed -n '2,8p' "$0" >&2
+    exit 1
+fi
+
+NIVEIS=${NIVEIS:-16 64 256 1024}
+DURACAO=${DURACAO:-60}
+PORTA=${PORTA:-8080}
+MIX=${MIX:-busca=50,insercao=20,status=15,saldo=15}
+SAIDA=target/carga
+mkdir -p "$SAIDA"
+
+./mvnw -q -DskipTests package
+./mvnw -q -P carga test-compile
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+
+aguardar_aplicacao() {
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:$PORTA/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "aplicação não respondeu em 120s" >&2
+    return 1
+}
+
+for variante in "$@"; do
+    nome=${variante%%:*}
+    argumentos=${variante#*:}
+    for threads in $NIVEIS; do
+        # aplicação nova a cada nível: cache, pool e JIT não carregam estado da rodada anterior
+        # shellcheck disable=SC2086
+        java -jar "$JAR" $argumentos --server.port="$PORTA" > "$SAIDA/aplicacao-$nome.log" 2>&1 &
+        PID=$!
+        trap 'kill $PID 2> /dev/null || true' EXIT
+        aguardar_aplicacao
+
+        relatorio="$SAIDA/$nome-$threads.txt"
+        echo "== $nome threads=$threads -> $relatorio"
+        ./mvnw -q -P carga exec:exec \
+            -Dcarga.args="url=http://localhost:$PORTA threads=$threads duracao=$DURACAO mix=$MIX" | tee "$relatorio"
+
+        kill "$PID"
+        wait "$PID" 2> /dev/null || true
+    done
+done
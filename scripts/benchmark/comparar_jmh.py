@@ -0,0 +1,35 @@
+#!/usr/bin/env python3
+"""Compara dois resultados JMH em JSON (-rf json) e mostra a variação de cada benchmark.
+
+Uso: python3 scripts/benchmark/comparar_jmh.py base.json novo.json
+"""
+import json
+import sys
+
+
+def carregar(caminho):
+    with open(caminho) as arquivo:
+        resultados = {}
+        for item in json.load(arquivo):
+            params = ",".join("%s=%s" % par for par in sorted(item.get("params", {}).items()))
+            chave = item["benchmark"].rsplit(".", 2)[-2:]
+            metrica = item["primaryMetric"]
+            resultados[".".join(chave) + ("[" + params + "]" if params else "")] = (metrica["score"], metrica["scoreUnit"])
+        return resultados
+
+
+def main(base, novo):
+    antes, depois = carregar(base), carregar(novo)
+    for nome in sorted(set(antes) | set(depois)):
+        if nome not in antes or nome not in depois:
+            print("%-70s %s" % (nome, "apenas em " + (base if nome in antes else novo)))
+            continue
+        (valor_antes, unidade), (valor_depois, _) = antes[nome], depois[nome]
+        variacao = (valor_depois - valor_antes) / valor_antes * 100 if valor_antes else 0.0
+        print("%-70s %12.3f -> %12.3f %-8s %+7.1f%%" % (nome, valor_antes, valor_depois, unidade, variacao))
+
+
+if __name__ == "__main__":
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+    main(sys.argv[1], sys.argv[2])
@@ -0,0 +1,81 @@
+package com.lewandowski.minhasfinancas.carga;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP mínimo sobre {@link HttpURLConnection}. O corpo da resposta é sempre lido até o fim
+ * para que a conexão volte ao pool de keep-alive da JVM.
+ */
+class ClienteApi {
+
+    private static final int TIMEOUT_MS = 30_000;
+
+    private final String url;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    ClienteApi(String url) {
+        this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    Resposta enviar(String metodo, String caminho, Object corpo, String token) throws IOException {
+        HttpURLConnection conexao = (HttpURLConnection) new URL(url + caminho).openConnection();
+        conexao.setRequestMethod(metodo);
+        conexao.setConnectTimeout(TIMEOUT_MS);
+        conexao.setReadTimeout(TIMEOUT_MS);
+        conexao.setRequestProperty("Accept", "application/json");
+        if (token != null) {
+            conexao.setRequestProperty("Authorization", "Bearer " + token);
+        }
+        if (corpo != null) {
+            conexao.setDoOutput(true);
+            conexao.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream saida = conexao.getOutputStream()) {
+                mapper.writeValue(saida, corpo);
+            }
+        }
+        int status = conexao.getResponseCode();
+        InputStream entrada = status >= 400 ? conexao.getErrorStream() : conexao.getInputStream();
+        return new Resposta(status, ler(entrada));
+    }
+
+    JsonNode json(Resposta resposta) throws IOException {
+        return mapper.readTree(resposta.corpo);
+    }
+
+    private static byte[] ler(InputStream entrada) throws IOException {
+        if (entrada == null) {
+            return new byte[0];
+        }
+        try (InputStream in = entrada) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int lidos;
+            while ((lidos = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, lidos);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    static class Resposta {
+        final int status;
+        final byte[] corpo;
+
+        Resposta(int status, byte[] corpo) {
+            this.status = status;
+            this.corpo = corpo;
+        }
+
+        boolean sucesso() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
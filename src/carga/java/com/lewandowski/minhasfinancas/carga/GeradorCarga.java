@@ -0,0 +1,279 @@
+package com.lewandowski.minhasfinancas.carga;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lewandowski.minhasfinancas.carga.ClienteApi.Resposta;
+
+/**
+ * Gerador de carga para a API REST.
+ *
+ * <ol>
+ * <li>cria {@code usuarios} usuários e autentica cada um para obter o token;</li>
+ * <li>importa {@code lancamentos} lançamentos por usuário e efetiva/cancela parte deles;</li>
+ * <li>por {@code duracao} segundos, {@code threads} workers executam o {@code mix} de operações e
+ * ao fim é impresso throughput e p50/p99/p999 por endpoint.</li>
+ * </ol>
+ *
+ * Parâmetros no formato chave=valor: {@code url}, {@code usuarios}, {@code lancamentos}, {@code duracao},
+ * {@code threads}, {@code taxa} (req/s totais; 0 = cada worker dispara assim que recebe a resposta),
+ * {@code mix} (ex.: {@code busca=50,insercao=20,status=15,saldo=15}) e {@code semente}.
+ */
+public final class GeradorCarga {
+
+    private static final String SENHA = "carga-123";
+    private static final String[] DESCRICOES = {
+        "Aluguel", "Salário", "Supermercado", "Farmácia", "Combustível", "Assinatura streaming",
+        "Conta de luz", "Conta de água", "Internet", "Restaurante"
+    };
+
+    private final ClienteApi cliente;
+    private final Map<String, String> parametros;
+    private final long semente;
+    private final int anoAtual = Year.now().getValue();
+
+    private GeradorCarga(Map<String, String> parametros) {
+        this.parametros = parametros;
+        this.cliente = new ClienteApi(parametros.getOrDefault("url", "http://localhost:8080"));
+        this.semente = Long.parseLong(parametros.getOrDefault("semente", "42"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            String[] par = arg.split("=", 2);
+            if (par.length != 2) {
+                throw new IllegalArgumentException("Parâmetro inválido, use chave=valor: " + arg);
+            }
+            parametros.put(par[0], par[1]);
+        }
+        new GeradorCarga(parametros).executar();
+    }
+
+    private void executar() throws Exception {
+        int usuarios = inteiro("usuarios", 20);
+        int lancamentos = inteiro("lancamentos", 200);
+        int threads = inteiro("threads", 16);
+        int duracao = inteiro("duracao", 60);
+        double taxa = Double.parseDouble(parametros.getOrDefault("taxa", "0"));
+        Map<Operacao, Integer> mix = mix(parametros.getOrDefault("mix", "busca=50,insercao=20,status=15,saldo=15"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long inicio = System.nanoTime();
+            List<Sessao> sessoes = preparar(executor, usuarios, lancamentos);
+            System.out.printf("%d usuários e %d lançamentos semeados em %d s%n", sessoes.size(),
+                    (long) sessoes.size() * lancamentos, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio));
+
+            RelatorioCarga relatorio = new RelatorioCarga();
+            long intervalo = taxa > 0 ? (long) (threads * 1e9 / taxa) : 0;
+            long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(duracao);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Random random = new Random(semente + i);
+                workers.add(executor.submit(() -> trabalhar(sessoes, mix, random, intervalo, fim, relatorio)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            relatorio.imprimir(System.out, duracao);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Sessao> preparar(ExecutorService executor, int usuarios, int lancamentos) throws Exception {
+        String execucao = Long.toString(System.currentTimeMillis(), 36);
+        List<Future<Sessao>> futuros = new ArrayList<>();
+        for (int i = 0; i < usuarios; i++) {
+            String email = "carga-" + execucao + "-" + i + "@carga.local";
+            Random random = new Random(semente * 31 + i);
+            futuros.add(executor.submit(() -> semear(criarUsuario(email), lancamentos, random)));
+        }
+        List<Sessao> sessoes = new ArrayList<>();
+        for (Future<Sessao> futuro : futuros) {
+            sessoes.add(futuro.get());
+        }
+        return sessoes;
+    }
+
+    private Sessao criarUsuario(String email) throws IOException {
+        Map<String, Object> usuario = new LinkedHashMap<>();
+        usuario.put("nome", email.substring(0, email.indexOf('@')));
+        usuario.put("email", email);
+        usuario.put("senha", SENHA);
+        exigirSucesso(cliente.enviar("POST", "/api/usuarios", usuario, null), "criar usuário");
+
+        usuario.remove("nome");
+        JsonNode token = cliente.json(exigirSucesso(cliente.enviar("POST", "/api/usuarios/autenticar", usuario, null), "autenticar"));
+        return new Sessao(token.path("idUsuario").asLong(), token.path("token").asText());
+    }
+
+    private Sessao semear(Sessao sessao, int quantidade, Random random) throws IOException {
+        List<Map<String, Object>> linhas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(lancamento(sessao, random));
+        }
+        exigirSucesso(cliente.enviar("POST", "/api/lancamentos/importacao?usuario=" + sessao.id, linhas, sessao.token), "importar");
+
+        String cursor = null;
+        do {
+            String caminho = "/api/lancamentos/pagina?limite=500&usuario=" + sessao.id
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8.name()));
+            JsonNode pagina = cliente.json(exigirSucesso(cliente.enviar("GET", caminho, null, sessao.token), "paginar"));
+            for (JsonNode item : pagina.path("itens")) {
+                sessao.lancamentos.add(item.path("id").asLong());
+            }
+            cursor = pagina.path("proximoCursor").isTextual() ? pagina.path("proximoCursor").asText() : null;
+        } while (cursor != null);
+
+        // distribuição típica de uma base madura: maioria efetivada, poucos cancelados
+        for (Long id : new ArrayList<>(sessao.lancamentos)) {
+            int sorteio = random.nextInt(100);
+            if (sorteio < 65) {
+                atualizarStatus(sessao, id, sorteio < 5 ? "CANCELADO" : "EFETIVADO");
+            }
+        }
+        return sessao;
+    }
+
+    private Void trabalhar(List<Sessao> sessoes, Map<Operacao, Integer> mix, Random random,
+                           long intervalo, long fim, RelatorioCarga relatorio) {
+        int pesoTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long proxima = System.nanoTime();
+        while (System.nanoTime() < fim && !Thread.currentThread().isInterrupted()) {
+            long previsto = intervalo > 0 ? proxima : System.nanoTime();
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Operacao operacao = sortear(mix, pesoTotal, random);
+            boolean sucesso = executar(operacao, sessoes.get(random.nextInt(sessoes.size())), random);
+            relatorio.registrar(operacao, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - previsto), sucesso);
+            proxima += intervalo;
+        }
+        return null;
+    }
+
+    private boolean executar(Operacao operacao, Sessao sessao, Random random) {
+        try {
+            switch (operacao) {
+                case BUSCA:
+                    return cliente.enviar("GET", "/api/lancamentos?usuario=" + sessao.id + "&ano=" + ano(random)
+                            + "&mes=" + (1 + random.nextInt(12)), null, sessao.token).sucesso();
+                case INSERCAO:
+                    Resposta resposta = cliente.enviar("POST", "/api/lancamentos", lancamento(sessao, random), sessao.token);
+                    if (resposta.sucesso()) {
+                        sessao.lancamentos.add(cliente.json(resposta).path("id").asLong());
+                    }
+                    return resposta.sucesso();
+                case STATUS:
+                    Long id = sessao.sortearLancamento(random);
+                    return id != null && atualizarStatus(sessao, id, random.nextInt(10) == 0 ? "CANCELADO" : "EFETIVADO");
+                case SALDO:
+                    return cliente.enviar("GET", "/api/usuarios/" + sessao.id + "/saldo", null, sessao.token).sucesso();
+                default:
+                    throw new IllegalStateException(operacao.name());
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean atualizarStatus(Sessao sessao, Long id, String status) throws IOException {
+        Map<String, Object> corpo = Collections.singletonMap("status", status);
+        return cliente.enviar("PUT", "/api/lancamentos/" + id + "/atualiza-status", corpo, sessao.token).sucesso();
+    }
+
+    private Map<String, Object> lancamento(Sessao sessao, Random random) {
+        // despesas pequenas e frequentes; receitas raras e maiores
+        boolean receita = random.nextInt(10) < 2;
+        double valor = Math.exp(random.nextGaussian() * 0.9 + (receita ? 8.0 : 4.5));
+        Map<String, Object> lancamento = new LinkedHashMap<>();
+        lancamento.put("descricao", DESCRICOES[random.nextInt(DESCRICOES.length)] + " " + random.nextInt(1000));
+        lancamento.put("mes", 1 + random.nextInt(12));
+        lancamento.put("ano", ano(random));
+        lancamento.put("valor", BigDecimal.valueOf(Math.max(1, Math.round(valor * 100)), 2));
+        lancamento.put("idUsuario", sessao.id);
+        lancamento.put("tipo", receita ? "RECEITA" : "DESPESA");
+        return lancamento;
+    }
+
+    // 60% no ano corrente, 30% no anterior, 10% dois anos atrás
+    private int ano(Random random) {
+        int sorteio = random.nextInt(10);
+        return anoAtual - (sorteio < 6 ? 0 : sorteio < 9 ? 1 : 2);
+    }
+
+    private static Operacao sortear(Map<Operacao, Integer> mix, int pesoTotal, Random random) {
+        int sorteio = random.nextInt(pesoTotal);
+        for (Map.Entry<Operacao, Integer> entrada : mix.entrySet()) {
+            sorteio -= entrada.getValue();
+            if (sorteio < 0) {
+                return entrada.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix vazio");
+    }
+
+    private static Map<Operacao, Integer> mix(String definicao) {
+        Map<Operacao, Integer> mix = new EnumMap<>(Operacao.class);
+        for (String item : definicao.split(",")) {
+            String[] par = item.split("=");
+            int peso = Integer.parseInt(par[1].trim());
+            if (peso > 0) {
+                mix.put(Operacao.valueOf(par[0].trim().toUpperCase()), peso);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma operação no mix");
+        }
+        return mix;
+    }
+
+    private int inteiro(String chave, int padrao) {
+        return Integer.parseInt(parametros.getOrDefault(chave, String.valueOf(padrao)));
+    }
+
+    private static Resposta exigirSucesso(Resposta resposta, String etapa) {
+        if (!resposta.sucesso()) {
+            throw new IllegalStateException("Falha ao " + etapa + ": HTTP " + resposta.status + " "
+                    + new String(resposta.corpo, StandardCharsets.UTF_8));
+        }
+        return resposta;
+    }
+
+    private static final class Sessao {
+        final long id;
+        final String token;
+        final List<Long> lancamentos = Collections.synchronizedList(new ArrayList<>());
+
+        Sessao(long id, String token) {
+            this.id = id;
+            this.token = token;
+        }
+
+        Long sortearLancamento(Random random) {
+            synchronized (lancamentos) {
+                return lancamentos.isEmpty() ? null : lancamentos.get(random.nextInt(lancamentos.size()));
+            }
+        }
+    }
+}
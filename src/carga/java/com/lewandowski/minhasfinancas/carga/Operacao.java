@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.carga;
+
+enum Operacao {
+    BUSCA("GET /api/lancamentos"),
+    INSERCAO("POST /api/lancamentos"),
+    STATUS("PUT /api/lancamentos/{id}/atualiza-status"),
+    SALDO("GET /api/usuarios/{id}/saldo");
+
+    final String endpoint;
+
+    Operacao(String endpoint) {
+        this.endpoint = endpoint;
+    }
+}
@@ -0,0 +1,53 @@
+package com.lewandowski.minhasfinancas.carga;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latências em microssegundos por operação. Com taxa fixa a latência é medida a partir do instante
+ * em que a requisição deveria ter saído, o que evita esconder filas (coordinated omission).
+ */
+class RelatorioCarga {
+
+    private final Map<Operacao, Histogram> latencias = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, LongAdder> erros = new EnumMap<>(Operacao.class);
+
+    RelatorioCarga() {
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new ConcurrentHistogram(3));
+            erros.put(operacao, new LongAdder());
+        }
+    }
+
+    void registrar(Operacao operacao, long micros, boolean sucesso) {
+        latencias.get(operacao).recordValue(Math.max(1, micros));
+        if (!sucesso) {
+            erros.get(operacao).increment();
+        }
+    }
+
+    void imprimir(PrintStream saida, double segundos) {
+        saida.printf("%-44s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "total", "erros", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operacao operacao : Operacao.values()) {
+            Histogram histograma = latencias.get(operacao);
+            long total = histograma.getTotalCount();
+            if (total == 0) {
+                continue;
+            }
+            saida.printf("%-44s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operacao.endpoint, total, erros.get(operacao).sum(), total / segundos,
+                    ms(histograma.getValueAtPercentile(50)), ms(histograma.getValueAtPercentile(99)),
+                    ms(histograma.getValueAtPercentile(99.9)), ms(histograma.getMaxValue()));
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.lewandowski.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+/**
+ * Soma de receitas menos despesas em memória, como nos relatórios: o caminho antigo com
+ * {@link BigDecimal} contra {@link Money}. Rodar com {@code -prof gc} para ver a alocação por operação:
+ * {@code -Djmh.args="AgregacaoBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgregacaoBenchmark {
+
+    @Param({"1000", "100000"})
+    private int tamanho;
+
+    private List<Lancamento> lancamentos;
+    private BigDecimal[] valoresDecimais;
+
+    @Setup
+    public void preparar() {
+        GeradorDados gerador = new GeradorDados();
+        List<Usuario> usuarios = gerador.usuarios(10);
+        lancamentos = gerador.lancamentos(usuarios, tamanho);
+        // o BigDecimal é materializado antes para medir só a soma, como fazia a entidade antes do Money
+        valoresDecimais = new BigDecimal[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            valoresDecimais[i] = lancamentos.get(i).getValor().toBigDecimal();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal saldoBigDecimal() {
+        BigDecimal saldo = BigDecimal.ZERO;
+        for (int i = 0; i < valoresDecimais.length; i++) {
+            saldo = lancamentos.get(i).getTipo() == TipoLancamento.RECEITA
+                    ? saldo.add(valoresDecimais[i])
+                    : saldo.subtract(valoresDecimais[i]);
+        }
+        return saldo;
+    }
+
+    @Benchmark
+    public Money saldoMoney() {
+        Money saldo = Money.ZERO;
+        for (Lancamento lancamento : lancamentos) {
+            saldo = lancamento.getTipo() == TipoLancamento.RECEITA
+                    ? saldo.plus(lancamento.getValor())
+                    : saldo.minus(lancamento.getValor());
+        }
+        return saldo;
+    }
+}
@@ -0,0 +1,62 @@
+package com.lewandowski.minhasfinancas.benchmark;
+
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.lewandowski.minhasfinancas.MinhasfinancasApplication;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
+import com.lewandowski.minhasfinancas.model.repository.UsuarioRepository;
+import com.lewandowski.minhasfinancas.service.LancamentoService;
+
+/**
+ * Sobe o contexto Spring sem servidor web contra o H2 do perfil de teste ou contra o
+ * Postgres local de {@code application.properties}, e semeia a base quando ela ainda
+ * não tem o volume pedido.
+ */
+public final class BaseDados {
+
+    private static final int LINHAS_POR_USUARIO = 1_000;
+    private static final int TAMANHO_LOTE = 10_000;
+
+    private BaseDados() {
+    }
+
+    public static ConfigurableApplicationContext iniciar(String banco) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("financas.saldo.reconciliacao.cron=-", "spring.cache.type=none");
+        if ("h2".equals(banco)) {
+            builder.profiles("test");
+        } else if (!"postgres".equals(banco)) {
+            throw new IllegalArgumentException("Banco não suportado: " + banco);
+        }
+        return builder.run();
+    }
+
+    public static Usuario semear(ConfigurableApplicationContext contexto, int linhas) {
+        UsuarioRepository usuarios = contexto.getBean(UsuarioRepository.class);
+        LancamentoRepository lancamentos = contexto.getBean(LancamentoRepository.class);
+        LancamentoService service = contexto.getBean(LancamentoService.class);
+
+        long existentes = lancamentos.count();
+        if (existentes > 0) {
+            if (existentes != linhas) {
+                throw new IllegalStateException("Base já possui " + existentes + " lançamentos; recrie-a para semear " + linhas);
+            }
+            return usuarios.findByEmail("usuario0@benchmark.local")
+                    .orElseThrow(() -> new IllegalStateException("Base sem o usuário de referência do benchmark"));
+        }
+
+        GeradorDados gerador = new GeradorDados();
+
+        List<Usuario> salvos = usuarios.saveAll(gerador.usuarios(Math.max(1, linhas / LINHAS_POR_USUARIO)));
+        for (int inseridas = 0; inseridas < linhas; inseridas += TAMANHO_LOTE) {
+            service.salvarLote(gerador.lancamentos(salvos, Math.min(TAMANHO_LOTE, linhas - inseridas)));
+        }
+        return salvos.get(0);
+    }
+}
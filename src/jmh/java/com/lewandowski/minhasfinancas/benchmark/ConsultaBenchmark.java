@@ -0,0 +1,94 @@
+package com.lewandowski.minhasfinancas.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.LancamentoService;
+
+/**
+ * Caminhos que dependem do banco. Volumes maiores e o Postgres local são escolhidos na linha de comando:
+ * {@code -Djmh.args="ConsultaBenchmark -p banco=postgres -p linhas=1000000 -rf json -rff target/jmh-resultado.json"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsultaBenchmark {
+
+    @Param({"h2"})
+    private String banco;
+
+    @Param({"10000"})
+    private int linhas;
+
+    @Param({"usuario", "usuario_ano", "usuario_ano_mes", "descricao"})
+    private String seletividade;
+
+    private ConfigurableApplicationContext contexto;
+    private LancamentoService service;
+    private Usuario usuario;
+    private Lancamento filtro;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = BaseDados.iniciar(banco);
+        service = contexto.getBean(LancamentoService.class);
+        usuario = BaseDados.semear(contexto, linhas);
+        filtro = criarFiltro();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<LancamentoConsultaDTO> buscar() {
+        return service.buscar(filtro);
+    }
+
+    @Benchmark
+    public Money obterSaldoPorUsuario() {
+        return service.obterSaldoPorUsuario(usuario.getId());
+    }
+
+    private Lancamento criarFiltro() {
+        Lancamento lancamento = new Lancamento();
+        lancamento.setIdUsuario(Usuario.builder().id(usuario.getId()).build());
+        switch (seletividade) {
+            case "usuario_ano_mes":
+                lancamento.setMes(6);
+                // fall through
+            case "usuario_ano":
+                lancamento.setAno(2021);
+                break;
+            case "descricao":
+                lancamento.setDescricao("mercado");
+                break;
+            default:
+                break;
+        }
+        return lancamento;
+    }
+}
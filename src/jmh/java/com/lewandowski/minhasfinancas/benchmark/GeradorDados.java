@@ -0,0 +1,72 @@
+package com.lewandowski.minhasfinancas.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+/**
+ * Gera lançamentos determinísticos (semente fixa) para que execuções em commits diferentes
+ * meçam exatamente os mesmos dados.
+ */
+public class GeradorDados {
+
+    public static final long SEMENTE = 42L;
+
+    private static final String[] DESCRICOES = {
+        "Aluguel", "Salário", "Supermercado", "Farmácia", "Combustível", "Assinatura streaming",
+        "Conta de luz", "Conta de água", "Internet", "Restaurante"
+    };
+
+    private final Random random;
+
+    public GeradorDados() {
+        this(SEMENTE);
+    }
+
+    public GeradorDados(long semente) {
+        this.random = new Random(semente);
+    }
+
+    public List<Usuario> usuarios(int quantidade) {
+        List<Usuario> usuarios = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            usuarios.add(Usuario.builder()
+                    .nome("usuario " + i)
+                    .email("usuario" + i + "@benchmark.local")
+                    .senha("{benchmark}")
+                    .dataCadastro(LocalDate.of(2020, 1, 1))
+                    .build());
+        }
+        return usuarios;
+    }
+
+    public Lancamento lancamento(Usuario usuario) {
+        // cerca de 80% despesas, anos concentrados nos últimos cinco
+        boolean despesa = random.nextInt(10) < 8;
+        return Lancamento.builder()
+                .descricao(DESCRICOES[random.nextInt(DESCRICOES.length)] + " " + random.nextInt(1000))
+                .mes(1 + random.nextInt(12))
+                .ano(2019 + random.nextInt(5))
+                .idUsuario(usuario)
+                .valor(Money.ofCentavos(1 + random.nextInt(500_000)))
+                .dataCadastro(LocalDate.of(2023, 1, 1))
+                .tipo(despesa ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                .status(StatusLancamento.PENDENTE)
+                .build();
+    }
+
+    public List<Lancamento> lancamentos(List<Usuario> usuarios, int quantidade) {
+        List<Lancamento> lancamentos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            lancamentos.add(lancamento(usuarios.get(random.nextInt(usuarios.size()))));
+        }
+        return lancamentos;
+    }
+}
@@ -0,0 +1,54 @@
+package com.lewandowski.minhasfinancas.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int tamanho;
+
+    private ObjectMapper mapper;
+    private List<Lancamento> lancamentos;
+
+    @Setup
+    public void preparar() {
+        // mesma configuração base que o Spring Boot aplica ao ObjectMapper da aplicação
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        GeradorDados gerador = new GeradorDados();
+        List<Usuario> usuarios = gerador.usuarios(10);
+        for (int i = 0; i < usuarios.size(); i++) {
+            usuarios.get(i).setId((long) i + 1);
+        }
+        lancamentos = gerador.lancamentos(usuarios, tamanho);
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(lancamentos);
+    }
+}
@@ -0,0 +1,58 @@
+package com.lewandowski.minhasfinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.service.implementations.LancamentoServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+    private LancamentoServiceImpl service;
+    private Lancamento valido;
+    private Lancamento semValor;
+
+    @Setup
+    public void preparar() {
+        // validar não usa as dependências do serviço
+        service = new LancamentoServiceImpl(null, null, null, null, null, null);
+        Usuario usuario = Usuario.builder().id(1L).build();
+        valido = new GeradorDados().lancamento(usuario);
+        semValor = new GeradorDados().lancamento(usuario);
+        semValor.setValor(null);
+    }
+
+    @Benchmark
+    public Lancamento validarLancamentoValido() {
+        service.validar(valido);
+        return valido;
+    }
+
+    @Benchmark
+    public void validarLancamentoInvalido(Blackhole blackhole) {
+        try {
+            service.validar(semValor);
+        } catch (RegraNegocioException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.lewandowski.minhasfinancas.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lewandowski.minhasfinancas.dto.LancamentoDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
+
+/**
+ * Mede {@code LancamentoController.converter} isolado do banco, com o usuário vindo do token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoLancamentoBenchmark {
+
+    private LancamentoController controller;
+    private LancamentoDTO dto;
+    private UsuarioAutenticado autenticado;
+
+    @Setup
+    public void preparar() {
+        controller = new LancamentoController(null, null, null, null, null);
+        autenticado = new UsuarioAutenticado(1L, "usuario", "usuario@email.com");
+        dto = LancamentoDTO.builder()
+                .descricao("Supermercado")
+                .mes(6)
+                .ano(2021)
+                .valor(Money.of("152.37"))
+                .idUsuario(1L)
+                .tipo("DESPESA")
+                .status("PENDENTE")
+                .build();
+    }
+
+    @Benchmark
+    public Lancamento converterComToken() {
+        return controller.converter(dto, autenticado);
+    }
+}
@@ -2,8 +2,14 @@ package com.lewandowski.minhasfinancas;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+// cache por fora da transação: puts e evicts só acontecem depois do commit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
 public class MinhasfinancasApplication {
 
 	public static void main(String[] args) {
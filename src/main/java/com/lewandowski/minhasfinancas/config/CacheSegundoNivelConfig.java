@@ -0,0 +1,96 @@
+package com.lewandowski.minhasfinancas.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Regiões do cache de segundo nível do Hibernate, criadas aqui a partir de
+ * financas.cache.hibernate.&lt;regiao&gt;.maximo e .expiracao-minutos para poderem variar por perfil.
+ * A região de timestamps não tem limite nem expiração: perder uma entrada dela faria o cache de
+ * consultas devolver resultado anterior a uma alteração. A entidade Usuario não tem região própria: ela já
+ * fica no cache "usuarios" do UsuarioService, e duas cópias em caches distintos só dobrariam a invalidação.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    public static final String USUARIO_EMAIL = "usuario-email";
+    public static final String CONSULTAS_LANCAMENTO = "lancamento-consultas";
+    static final String CONSULTAS_PADRAO = "default-query-results-region";
+    static final String TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final List<String> REGIOES = List.of(USUARIO_EMAIL, CONSULTAS_LANCAMENTO, CONSULTAS_PADRAO);
+    private static final String PREFIXO = "financas.cache.hibernate.";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheSegundoNivel(Environment ambiente) {
+        // URI própria por contexto: o provedor reaproveita o gerenciador pela URI e os testes sobem vários contextos
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("financas-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String regiao : REGIOES) {
+            CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+            configuracao.setStatisticsEnabled(true);
+            configuracao.setMaximumSize(OptionalLong.of(ambiente.getProperty(PREFIXO + regiao + ".maximo", Long.class, 10_000L)));
+            Long expiracao = ambiente.getProperty(PREFIXO + regiao + ".expiracao-minutos", Long.class);
+            if (expiracao != null) {
+                configuracao.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(expiracao)));
+            }
+            cacheManager.createCache(regiao, configuracao);
+        }
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(TIMESTAMPS, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivel);
+    }
+
+    /**
+     * Taxa de acerto por região desde a subida; os contadores brutos saem em hibernate.second.level.cache.*,
+     * hibernate.cache.natural.id.* e hibernate.cache.query.* (hibernate-micrometer).
+     */
+    @Bean
+    public MeterBinder taxaAcertoCacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String regiao : REGIOES) {
+                Gauge.builder("financas.cache.hibernate.acertos", estatisticas, e -> taxaAcerto(e.getCacheRegionStatistics(regiao)))
+                     .tag("regiao", regiao)
+                     .register(registry);
+            }
+        };
+    }
+
+    private static double taxaAcerto(CacheRegionStatistics regiao) {
+        if (regiao == null) {
+            return Double.NaN;
+        }
+        long consultas = regiao.getHitCount() + regiao.getMissCount();
+        return consultas == 0 ? Double.NaN : (double) regiao.getHitCount() / consultas;
+    }
+}
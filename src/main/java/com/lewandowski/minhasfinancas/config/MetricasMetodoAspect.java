@@ -0,0 +1,114 @@
+package com.lewandowski.minhasfinancas.config;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.lewandowski.minhasfinancas.exception.ErroAutenticacaoException;
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Cronometra os métodos públicos dos serviços e repositórios no timer {@code financas.metodo},
+ * marcado com classe, método, endpoint HTTP de origem, resultado e exceção.
+ */
+@Aspect
+@Component
+public class MetricasMetodoAspect {
+
+    private static final String PACOTE = "com.lewandowski.minhasfinancas";
+    private static final String NENHUM = "none";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> nomes = new ConcurrentHashMap<>();
+
+    public MetricasMetodoAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.lewandowski.minhasfinancas.service.implementations.*.*(..))"
+            + " || execution(public * com.lewandowski.minhasfinancas.model.repository..*+.*(..))")
+    public Object cronometrar(ProceedingJoinPoint joinPoint) throws Throwable {
+        String classe = nomes.computeIfAbsent(joinPoint.getTarget().getClass(), MetricasMetodoAspect::nomeClasse);
+        String metodo = joinPoint.getSignature().getName();
+        String endpoint = endpointAtual();
+        Timer.Sample amostra = Timer.start(registry);
+
+        Object resultado;
+        try {
+            resultado = joinPoint.proceed();
+        } catch (Throwable erro) {
+            registrar(amostra, classe, metodo, endpoint, erro);
+            throw erro;
+        }
+
+        if (resultado instanceof CompletionStage) {
+            ((CompletionStage<?>) resultado).whenComplete((valor, erro) -> registrar(amostra, classe, metodo, endpoint, erro));
+        } else {
+            registrar(amostra, classe, metodo, endpoint, null);
+        }
+        return resultado;
+    }
+
+    private void registrar(Timer.Sample amostra, String classe, String metodo, String endpoint, Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        amostra.stop(Timer.builder("financas.metodo")
+                .tag("classe", classe)
+                .tag("metodo", metodo)
+                .tag("endpoint", endpoint)
+                .tag("resultado", resultado(causa))
+                .tag("excecao", causa == null ? NENHUM : causa.getClass().getSimpleName())
+                .register(registry));
+    }
+
+    private static String resultado(Throwable erro) {
+        if (erro == null) {
+            return "SUCESSO";
+        }
+        if (erro instanceof RegraNegocioException) {
+            return "ERRO_NEGOCIO";
+        }
+        if (erro instanceof ErroAutenticacaoException) {
+            return "ERRO_AUTENTICACAO";
+        }
+        return "ERRO";
+    }
+
+    private static String endpointAtual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (!(atributos instanceof ServletRequestAttributes)) {
+            return NENHUM;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) atributos).getRequest();
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao == null ? NENHUM : request.getMethod() + " " + padrao;
+    }
+
+    // repositórios Spring Data chegam como proxy JDK; o nome útil é o da interface do projeto
+    private static String nomeClasse(Class<?> tipo) {
+        if (Proxy.isProxyClass(tipo)) {
+            for (Class<?> interfaceImplementada : tipo.getInterfaces()) {
+                if (interfaceImplementada.getName().startsWith(PACOTE)) {
+                    return interfaceImplementada.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(tipo).getSimpleName();
+    }
+}
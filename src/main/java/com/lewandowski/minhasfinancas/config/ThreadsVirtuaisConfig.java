@@ -0,0 +1,34 @@
+package com.lewandowski.minhasfinancas.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Ajustes para {@code spring.threads.virtual.enabled=true}. O {@code @Cacheable(sync = true)} carrega o valor
+ * dentro do compute do ConcurrentHashMap do Caffeine, que é um bloco synchronized: a consulta JDBC ali
+ * prenderia a thread portadora. No modo assíncrono o compute só registra o futuro e a carga roda numa
+ * thread virtual própria, com as outras requisições da mesma chave esperando o futuro.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> cacheCaffeineAssincrono(CacheProperties propriedades) {
+        return cacheManager -> {
+            String spec = propriedades.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(caffeine.executor(Executors.newVirtualThreadPerTaskExecutor()));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+}
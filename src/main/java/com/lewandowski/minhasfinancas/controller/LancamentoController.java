@@ -1,50 +1,86 @@
 package com.lewandowski.minhasfinancas.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Provider.Service;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.HttpClientErrorException.BadRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lewandowski.minhasfinancas.dto.AtualizaStatusDTO;
+import com.lewandowski.minhasfinancas.dto.AtualizaStatusLoteDTO;
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
 import com.lewandowski.minhasfinancas.dto.LancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.MarcaAlteracao;
+import com.lewandowski.minhasfinancas.dto.MudancasLancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.PaginaLancamentoDTO;
 import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
 import com.lewandowski.minhasfinancas.model.entity.Lancamento;
 import com.lewandowski.minhasfinancas.model.entity.Usuario;
 import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
 import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
+import com.lewandowski.minhasfinancas.service.EventoLancamentoService;
+import com.lewandowski.minhasfinancas.service.ImportacaoLancamentoService;
 import com.lewandowski.minhasfinancas.service.LancamentoService;
-import com.lewandowski.minhasfinancas.service.UsuarioService;
+import com.lewandowski.minhasfinancas.service.MarcaAlteracaoService;
 
-import javassist.bytecode.stackmap.BasicBlock.Catch;
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequestMapping("/api/lancamentos")
 public class LancamentoController {
     
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final LancamentoService lancamento;
-    private final UsuarioService user;
+    private final ImportacaoLancamentoService importacao;
+    private final EventoLancamentoService eventos;
+    private final ObjectMapper mapper;
+    private final MarcaAlteracaoService marcas;
+
+    @Value("${financas.eventos.espera-maxima-ms:30000}")
+    private long esperaMaxima;
 
-    public LancamentoController(LancamentoService lancamento, UsuarioService user) {
+    public LancamentoController(LancamentoService lancamento, ImportacaoLancamentoService importacao, EventoLancamentoService eventos,
+                                ObjectMapper mapper, MarcaAlteracaoService marcas) {
         this.lancamento = lancamento;
-        this.user = user;
+        this.importacao = importacao;
+        this.eventos = eventos;
+        this.mapper = mapper;
+        this.marcas = marcas;
     }
     @PostMapping
-    public ResponseEntity salvar (@RequestBody LancamentoDTO dto) {
+    public ResponseEntity salvar (@RequestBody LancamentoDTO dto,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
         try {
-            Lancamento entidade = converter(dto);
+            Lancamento entidade = converter(dto, autenticado);
             entidade = lancamento.salvar(entidade);
             return new ResponseEntity(entidade, HttpStatus.CREATED);
             //return new ResponseEntity(entidade, HttpStatus.CREATED);
@@ -53,81 +89,295 @@ public class LancamentoController {
         }
     }
 
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity importar (@RequestParam("usuario") Long idUsuario, @RequestBody List<LancamentoDTO> linhas,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        if (!autenticado.podeAcessar(idUsuario)) {
+            return proibido();
+        }
+        try {
+            return ResponseEntity.ok(importacao.importar(idUsuario, linhas));
+        }catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity importarCsv (@RequestParam("usuario") Long idUsuario, InputStream corpo,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        if (!autenticado.podeAcessar(idUsuario)) {
+            return proibido();
+        }
+        try {
+            return ResponseEntity.ok(importacao.importarCsv(idUsuario, new InputStreamReader(corpo, StandardCharsets.UTF_8)));
+        }catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("{id}")
-    private ResponseEntity atualizar( @PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
-        return lancamento.obterPorId(id).map(entity -> {
+    private ResponseEntity atualizar( @PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        return lancamento.obterParaAlteracao(id).<ResponseEntity>map(entity -> {
+            if (!autenticado.ehDono(entity.getIdUsuario())) {
+                return proibido();
+            }
             try {
-                Lancamento lanc = converter(dto);
+                Lancamento lanc = converter(dto, autenticado);
                 lanc.setId(entity.getId());
-                lancamento.atualizar(lanc);
-                return ResponseEntity.ok(lanc);
+                Long versao = VersaoEtag.versao(ifMatch);
+                if (versao != null) {
+                    lanc.setVersao(versao);
+                }
+                Lancamento atualizado = lancamento.atualizar(lanc);
+                return ResponseEntity.ok().eTag(VersaoEtag.etag(atualizado.getVersao())).body(atualizado);
             }catch (RegraNegocioException e) {
                 return ResponseEntity.badRequest().body(e.getMessage());
-            }            
+            }catch (OptimisticLockingFailureException e) {
+                return conflito();
+            }
         }).orElseGet( () -> new ResponseEntity("Lancamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST)); 
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity deletar ( @PathVariable("id") Long id) {
-        return lancamento.obterPorId(id).map( entidade -> {
+    public ResponseEntity deletar ( @PathVariable("id") Long id,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        return lancamento.obterParaAlteracao(id).map( entidade -> {
+            if (!autenticado.ehDono(entidade.getIdUsuario())) {
+                return proibido();
+            }
             lancamento.deletar(entidade);
             return new ResponseEntity(HttpStatus.NO_CONTENT);
         }).orElseGet( () ->
             new ResponseEntity("Lancamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
     }
 
+    /**
+     * Leitura de um lançamento pelo cache "lancamentos"; a ETag é a versão, a mesma esperada no If-Match
+     * de PUT e atualiza-status.
+     */
+    @GetMapping("{id}")
+    public ResponseEntity obter ( @PathVariable("id") Long id,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        return lancamento.obterPorId(id).<ResponseEntity>map(consulta -> {
+            if (!autenticado.getId().equals(consulta.getIdUsuario())) {
+                return proibido();
+            }
+            return ResponseEntity.ok().eTag(VersaoEtag.etag(consulta.getVersao())).body(consulta);
+        }).orElseGet( () -> new ResponseEntity("Lancamento não encontrado na base de dados.", HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Responde 304 pela marca de alteração do usuário, antes de consultar o banco. A marca é lida antes da
+     * consulta: uma alteração confirmada no meio gera no máximo uma resposta completa a mais.
+     */
     @GetMapping
     public ResponseEntity buscar (
         @RequestParam(value = "descricao", required = false) String descricao, 
         @RequestParam(value = "mes", required = false) Integer mes, 
         @RequestParam(value = "ano", required = false) Integer ano,
-        @RequestParam(value = "usuario", required = false) Long idUsuario) {
-            Lancamento filtro = new Lancamento();
-            filtro.setDescricao(descricao);
-            filtro.setMes(mes);
-            filtro.setAno(ano);
-            filtro.setIdUsuario(null);
+        @RequestParam(value = "usuario", required = false) Long idUsuario,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado,
+        WebRequest requisicao) {
+            Optional<Lancamento> filtro = criarFiltro(descricao, mes, ano, idUsuario, autenticado);
+            if (!filtro.isPresent()) {
+                return ResponseEntity.badRequest().body("Não foi possível realizar a consulta: Usuario não encontrado na base de dados");
+            }
 
-            Optional<Usuario> usuario = user.obterPorId(idUsuario);
-            if (!usuario.isPresent()) {
+            MarcaAlteracao marca = marcas.obter(filtro.get().getIdUsuario().getId());
+            String etag = marca.etag(descricao, mes, ano);
+            if (requisicao.checkNotModified(etag, marca.getAlteradoEm().toEpochMilli())) {
+                return null;
+            }
+            List<LancamentoConsultaDTO> lancamentos = lancamento.buscar(filtro.get());
+            return ResponseEntity.ok().eTag(etag).lastModified(marca.getAlteradoEm()).body(lancamentos);
+        }
+
+    @GetMapping("/busca")
+    public ResponseEntity buscarPorDescricao (
+        @RequestParam(value = "descricao") String descricao, 
+        @RequestParam(value = "mes", required = false) Integer mes, 
+        @RequestParam(value = "ano", required = false) Integer ano,
+        @RequestParam(value = "usuario", required = false) Long idUsuario,
+        @RequestParam(value = "limite", required = false) Integer limite,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+            Optional<Lancamento> filtro = criarFiltro(descricao, mes, ano, idUsuario, autenticado);
+            if (!filtro.isPresent()) {
+                return ResponseEntity.badRequest().body("Não foi possível realizar a consulta: Usuario não encontrado na base de dados");
+            }
+            try {
+                List<Lancamento> lancamentos = lancamento.buscarPorDescricao(filtro.get(), limite);
+                return ResponseEntity.ok(lancamentos);
+            } catch (RegraNegocioException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
+    @GetMapping("/pagina")
+    public ResponseEntity buscarPagina (
+        @RequestParam(value = "descricao", required = false) String descricao, 
+        @RequestParam(value = "mes", required = false) Integer mes, 
+        @RequestParam(value = "ano", required = false) Integer ano,
+        @RequestParam(value = "usuario", required = false) Long idUsuario,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limite", required = false) Integer limite,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+            Optional<Lancamento> filtro = criarFiltro(descricao, mes, ano, idUsuario, autenticado);
+            if (!filtro.isPresent()) {
                 return ResponseEntity.badRequest().body("Não foi possível realizar a consulta: Usuario não encontrado na base de dados");
             }
-            else {
-                filtro.setIdUsuario(usuario.get());
+            try {
+                PaginaLancamentoDTO pagina = lancamento.buscarPagina(filtro.get(), cursor, limite);
+                return ResponseEntity.ok(pagina);
+            } catch (RegraNegocioException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
+    @GetMapping("/stream")
+    public ResponseEntity buscarStream (
+        @RequestParam(value = "descricao", required = false) String descricao, 
+        @RequestParam(value = "mes", required = false) Integer mes, 
+        @RequestParam(value = "ano", required = false) Integer ano,
+        @RequestParam(value = "usuario", required = false) Long idUsuario,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+            Optional<Lancamento> filtro = criarFiltro(descricao, mes, ano, idUsuario, autenticado);
+            if (!filtro.isPresent()) {
+                return ResponseEntity.badRequest().body("Não foi possível realizar a consulta: Usuario não encontrado na base de dados");
             }
 
-            List<Lancamento> lancamentos = lancamento.buscar(filtro);
-            return ResponseEntity.ok(lancamentos);
+            StreamingResponseBody corpo = saida -> lancamento.percorrer(filtro.get(), item -> {
+                try {
+                    saida.write(mapper.writeValueAsBytes(item));
+                    saida.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return ResponseEntity.ok().contentType(NDJSON).body(corpo);
+        }
+
+    /**
+     * Feed incremental por usuário: devolve os eventos publicados depois de since ou segura a requisição
+     * (long-poll) até o próximo lote do usuário ou até espera milissegundos. No fim da espera a consulta
+     * é refeita, o que cobre lotes publicados pelo relay de outro nó.
+     */
+    @GetMapping("/changes")
+    public DeferredResult<ResponseEntity> buscarMudancas (
+        @RequestParam(value = "since", required = false) Long since,
+        @RequestParam(value = "usuario", required = false) Long idUsuario,
+        @RequestParam(value = "limite", required = false) Integer limite,
+        @RequestParam(value = "espera", required = false) Long espera,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+            long tempoEspera = espera == null ? esperaMaxima : Math.max(0, Math.min(espera, esperaMaxima));
+            DeferredResult<ResponseEntity> resultado = new DeferredResult<>(tempoEspera);
+
+            Optional<Usuario> usuario = resolverUsuario(idUsuario, autenticado);
+            if (!usuario.isPresent()) {
+                resultado.setResult(ResponseEntity.badRequest().body("Não foi possível realizar a consulta: Usuario não encontrado na base de dados"));
+                return resultado;
+            }
+            Long id = usuario.get().getId();
+            if (tempoEspera == 0) {
+                resultado.setResult(ResponseEntity.ok(eventos.buscarDesde(id, since, limite)));
+                return resultado;
+            }
+
+            CompletableFuture<MudancasLancamentoDTO> mudancas = eventos.aguardarDesde(id, since, limite);
+            mudancas.thenAccept(encontradas -> resultado.setResult(ResponseEntity.ok(encontradas)));
+            resultado.onTimeout(() -> resultado.setResult(ResponseEntity.ok(eventos.buscarDesde(id, since, limite))));
+            resultado.onCompletion(() -> mudancas.cancel(false));
+            return resultado;
         }
 
     @PutMapping("{id}/atualiza-status")
-    public ResponseEntity atualizarStatus( @PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto ) {
-        return lancamento.obterPorId(id).map( entity -> {
+    public ResponseEntity atualizarStatus( @PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        return lancamento.obterParaAlteracao(id).<ResponseEntity>map( entity -> {
+            if (!autenticado.ehDono(entity.getIdUsuario())) {
+                return proibido();
+            }
             StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
             if(statusSelecionado == null) {
                 return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento");
             }
             try {
-                entity.setStatus(statusSelecionado);
-                lancamento.atualizar(entity);
-                return ResponseEntity.ok(entity);
+                Long versao = VersaoEtag.versao(ifMatch);
+                if (versao != null && !versao.equals(entity.getVersao())) {
+                    return conflito();
+                }
+                Lancamento atualizado = lancamento.atualizarStatus(entity, statusSelecionado);
+                return ResponseEntity.ok().eTag(VersaoEtag.etag(atualizado.getVersao())).body(atualizado);
             }catch(RegraNegocioException e) {
                 return ResponseEntity.badRequest().body(e.getMessage());
-            }         
+            }catch(OptimisticLockingFailureException e) {
+                return conflito();
+            }
         }).orElseGet( () -> 
             new ResponseEntity("Lançamento não encontrado na base de dados", HttpStatus.BAD_REQUEST));
     }
 
-    private Lancamento converter(LancamentoDTO dto) {
+    @PutMapping("/atualiza-status")
+    public ResponseEntity atualizarStatusEmLote( @RequestBody AtualizaStatusLoteDTO dto,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+            Optional<Lancamento> filtro = criarFiltro(null, dto.getMes(), dto.getAno(), dto.getIdUsuario(), autenticado);
+            if (!filtro.isPresent()) {
+                return ResponseEntity.badRequest().body("Usuario não encontrado para o Id informado.");
+            }
+            try {
+                return ResponseEntity.ok(lancamento.atualizarStatusEmLote(filtro.get(), dto.getIds(),
+                        converterStatus(dto.getStatusAtual()), converterStatus(dto.getStatus())));
+            } catch (RegraNegocioException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
+    private static ResponseEntity conflito() {
+        return new ResponseEntity("Lançamento alterado por outra requisição: recarregue e tente novamente.", HttpStatus.CONFLICT);
+    }
+
+    // só o dono do lançamento lê, altera ou exclui
+    private static ResponseEntity proibido() {
+        return new ResponseEntity("Lançamento pertence a outro usuário.", HttpStatus.FORBIDDEN);
+    }
+
+    private static StatusLancamento converterStatus(String status) {
+        try {
+            return status == null ? null : StatusLancamento.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Status inválido: " + status);
+        }
+    }
+
+    private Optional<Lancamento> criarFiltro(String descricao, Integer mes, Integer ano, Long idUsuario,
+                                            UsuarioAutenticado autenticado) {
+        return resolverUsuario(idUsuario, autenticado).map(usuario -> {
+            Lancamento filtro = new Lancamento();
+            filtro.setDescricao(descricao);
+            filtro.setMes(mes);
+            filtro.setAno(ano);
+            filtro.setIdUsuario(usuario);
+            return filtro;
+        });
+    }
+
+    // o usuário vem das claims do token, sem ida ao banco; outro id informado não é aceito
+    private Optional<Usuario> resolverUsuario(Long idUsuario, UsuarioAutenticado autenticado) {
+        return autenticado.podeAcessar(idUsuario) ? Optional.of(autenticado.toUsuario()) : Optional.empty();
+    }
+
+    Lancamento converter(LancamentoDTO dto, UsuarioAutenticado autenticado) {
         Lancamento lancamento = new Lancamento();
         lancamento.setId(dto.getId());
         lancamento.setDescricao(dto.getDescricao());
         lancamento.setAno(dto.getAno());
         lancamento.setMes(dto.getMes());
         lancamento.setValor(dto.getValor());        
+        lancamento.setVersao(dto.getVersao());
 
-        Usuario usuario = user
-                        .obterPorId(dto.getIdUsuario())
+        Usuario usuario = resolverUsuario(dto.getIdUsuario(), autenticado)
                         .orElseThrow( () -> new RegraNegocioException("Usuario não encontrado para o Id informado."));
         
         lancamento.setIdUsuario(usuario);
@@ -0,0 +1,33 @@
+package com.lewandowski.minhasfinancas.controller;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.lewandowski.minhasfinancas.service.ParticaoLancamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Operação administrativa exposta pelo actuator (POST /actuator/particoes/{ano}), e não pela API
+ * pública; precisa ser incluída explicitamente em management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "particoes")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "financas.lancamentos.particionado", havingValue = "true")
+public class ParticaoLancamentoEndpoint {
+
+    private final ParticaoLancamentoService service;
+
+    @WriteOperation
+    public Map<String, Object> arquivar(@Selector Integer ano) {
+        service.arquivar(ano);
+        return Collections.singletonMap("arquivado", ano);
+    }
+}
@@ -0,0 +1,141 @@
+package com.lewandowski.minhasfinancas.controller;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lewandowski.minhasfinancas.dto.RecorrenciaDTO;
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.Recorrencia;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
+import com.lewandowski.minhasfinancas.service.RecorrenciaService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Definições de lançamentos recorrentes; as ocorrências são geradas pelo RecorrenciaJob e aparecem na
+ * busca de lançamentos como quaisquer outras.
+ */
+@RestController
+@RequestMapping("/api/recorrencias")
+@RequiredArgsConstructor
+public class RecorrenciaController {
+
+    private final RecorrenciaService service;
+
+    @PostMapping
+    public ResponseEntity salvar (@RequestBody RecorrenciaDTO dto,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        try {
+            Recorrencia recorrencia = service.salvar(converter(dto, autenticado));
+            return new ResponseEntity(converter(recorrencia), HttpStatus.CREATED);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity buscar (@RequestParam(value = "usuario", required = false) Long idUsuario,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        Optional<Usuario> usuario = resolverUsuario(idUsuario, autenticado);
+        if (!usuario.isPresent()) {
+            return ResponseEntity.badRequest().body("Não foi possível realizar a consulta: Usuario não encontrado na base de dados");
+        }
+        List<RecorrenciaDTO> recorrencias = service.buscarPorUsuario(usuario.get().getId()).stream()
+                .map(RecorrenciaController::converter)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(recorrencias);
+    }
+
+    @DeleteMapping("{id}")
+    public ResponseEntity encerrar (@PathVariable("id") Long id,
+        @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        return service.obterPorId(id).<ResponseEntity>map(recorrencia -> {
+            if (!autenticado.podeAcessar(recorrencia.getIdUsuario().getId())) {
+                return new ResponseEntity(HttpStatus.FORBIDDEN);
+            }
+            try {
+                service.encerrar(recorrencia);
+                return new ResponseEntity(HttpStatus.NO_CONTENT);
+            } catch (OptimisticLockingFailureException e) {
+                return new ResponseEntity("Recorrência alterada por outra requisição: tente novamente.", HttpStatus.CONFLICT);
+            }
+        }).orElseGet( () ->
+            new ResponseEntity("Recorrência não encontrada na base de dados.", HttpStatus.BAD_REQUEST));
+    }
+
+    private Optional<Usuario> resolverUsuario(Long idUsuario, UsuarioAutenticado autenticado) {
+        return autenticado.podeAcessar(idUsuario) ? Optional.of(autenticado.toUsuario()) : Optional.empty();
+    }
+
+    Recorrencia converter(RecorrenciaDTO dto, UsuarioAutenticado autenticado) {
+        Usuario usuario = resolverUsuario(dto.getIdUsuario(), autenticado)
+                        .orElseThrow( () -> new RegraNegocioException("Usuario não encontrado para o Id informado."));
+        return Recorrencia.builder()
+                .descricao(dto.getDescricao())
+                .valor(dto.getValor())
+                .tipo(converterEnum(TipoLancamento.class, dto.getTipo(), "Tipo de lançamento inválido"))
+                .periodicidade(converterEnum(PeriodicidadeRecorrencia.class, dto.getPeriodicidade(), "Periodicidade inválida"))
+                .idUsuario(usuario)
+                .competenciaInicio(competencia(dto.getMesInicio(), dto.getAnoInicio()))
+                .competenciaFim(dto.getMesFim() == null && dto.getAnoFim() == null
+                                ? null : competencia(dto.getMesFim(), dto.getAnoFim()))
+                .build();
+    }
+
+    static RecorrenciaDTO converter(Recorrencia recorrencia) {
+        Integer inicio = recorrencia.getCompetenciaInicio();
+        Integer fim = recorrencia.getCompetenciaFim();
+        Integer proxima = recorrencia.getProximaCompetencia();
+        return RecorrenciaDTO.builder()
+                .id(recorrencia.getId())
+                .descricao(recorrencia.getDescricao())
+                .valor(recorrencia.getValor())
+                .tipo(recorrencia.getTipo() == null ? null : recorrencia.getTipo().name())
+                .periodicidade(recorrencia.getPeriodicidade() == null ? null : recorrencia.getPeriodicidade().name())
+                .idUsuario(recorrencia.getIdUsuario() == null ? null : recorrencia.getIdUsuario().getId())
+                .mesInicio(inicio == null ? null : Recorrencia.mes(inicio))
+                .anoInicio(inicio == null ? null : Recorrencia.ano(inicio))
+                .mesFim(fim == null ? null : Recorrencia.mes(fim))
+                .anoFim(fim == null ? null : Recorrencia.ano(fim))
+                .proximoMes(proxima == null ? null : Recorrencia.mes(proxima))
+                .proximoAno(proxima == null ? null : Recorrencia.ano(proxima))
+                .ativa(recorrencia.isAtiva())
+                .build();
+    }
+
+    // mesmas regras de mês e ano do LancamentoService.validar
+    private static Integer competencia(Integer mes, Integer ano) {
+        if (mes == null || mes < 1 || mes > 12) {
+            throw new RegraNegocioException("Informe um mês válido");
+        }
+        if (ano == null || ano.toString().length() != 4) {
+            throw new RegraNegocioException("Informe um ano válido");
+        }
+        return Recorrencia.competencia(ano, mes);
+    }
+
+    private static <E extends Enum<E>> E converterEnum(Class<E> tipo, String valor, String mensagem) {
+        try {
+            return valor == null ? null : Enum.valueOf(tipo, valor);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException(mensagem + ": " + valor);
+        }
+    }
+}
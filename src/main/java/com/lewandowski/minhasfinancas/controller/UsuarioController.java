@@ -1,22 +1,35 @@
 package com.lewandowski.minhasfinancas.controller;
 
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.lewandowski.minhasfinancas.dto.MarcaAlteracao;
 import com.lewandowski.minhasfinancas.dto.UsuarioDTO;
 import com.lewandowski.minhasfinancas.exception.ErroAutenticacaoException;
 import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.exception.ServicoIndisponivelException;
 import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
 import com.lewandowski.minhasfinancas.service.LancamentoService;
+import com.lewandowski.minhasfinancas.service.MarcaAlteracaoService;
+import com.lewandowski.minhasfinancas.service.ResumoMensalService;
+import com.lewandowski.minhasfinancas.service.SaldoTempoRealService;
+import com.lewandowski.minhasfinancas.service.TokenService;
 import com.lewandowski.minhasfinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +41,10 @@ public class UsuarioController {
 
     private final UsuarioService service;
     private final LancamentoService lancamentoService;
+    private final ResumoMensalService resumoService;
+    private final TokenService tokenService;
+    private final SaldoTempoRealService saldoTempoReal;
+    private final MarcaAlteracaoService marcas;
 
     @PostMapping
     public ResponseEntity salvar(@RequestBody UsuarioDTO dto) {
@@ -40,27 +57,68 @@ public class UsuarioController {
             return new ResponseEntity(usuarioSalvo, HttpStatus.CREATED);
         } catch (RegraNegocioException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ServicoIndisponivelException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
         }
     }
 
     @PostMapping("/autenticar")
-    public ResponseEntity autenticar( @RequestBody UsuarioDTO dto){
+    public CompletableFuture<ResponseEntity> autenticar( @RequestBody UsuarioDTO dto){
         try {
-            Usuario userAutenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-            return ResponseEntity.ok(userAutenticado);
+            return service.autenticar(dto.getEmail(), dto.getSenha())
+                    .<ResponseEntity>thenApply(usuario -> ResponseEntity.ok(tokenService.emitir(usuario)))
+                    .exceptionally(this::tratarErroAutenticacao);
         }catch(ErroAutenticacaoException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+    }
+
+    private ResponseEntity tratarErroAutenticacao(Throwable erro) {
+        Throwable causa = erro instanceof CompletionException ? erro.getCause() : erro;
+        if (causa instanceof ErroAutenticacaoException) {
+            return ResponseEntity.badRequest().body(causa.getMessage());
+        }
+        if (causa instanceof ServicoIndisponivelException) {
+            return new ResponseEntity(causa.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
         }
+        throw new CompletionException(causa);
     }
 
     @GetMapping("{id}/saldo")
-    public ResponseEntity obterSaldo( @PathVariable("id") Long id) {
-        Optional<Usuario> usuario = service.obterPorId(id);
+    public ResponseEntity obterSaldo( @PathVariable("id") Long id,
+            @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado,
+            WebRequest requisicao) {
+        if (!autenticado.podeAcessar(id)) {
+            return new ResponseEntity(HttpStatus.FORBIDDEN);
+        }
+        // acesso conferido antes: o 304 não pode confirmar a quem não tem acesso que nada mudou
+        MarcaAlteracao marca = marcas.obter(id);
+        String etag = marca.etag("saldo");
+        if (requisicao.checkNotModified(etag, marca.getAlteradoEm().toEpochMilli())) {
+            return null;
+        }
+        Money saldo = lancamentoService.obterSaldoPorUsuario(id);
+        return ResponseEntity.ok().eTag(etag).lastModified(marca.getAlteradoEm()).body(saldo);
+    }
+
+    /**
+     * Envia o saldo atual e um novo evento "saldo" a cada alteração confirmada; substitui o polling de /saldo.
+     */
+    @GetMapping(value = "{id}/saldo/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanharSaldo( @PathVariable("id") Long id,
+            @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        if (!autenticado.podeAcessar(id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(saldoTempoReal.assinar(id));
+    }
 
-        if (!usuario.isPresent()) {
-            return new ResponseEntity(HttpStatus.NOT_FOUND);
+    @GetMapping("{id}/resumo-mensal")
+    public ResponseEntity obterResumoMensal( @PathVariable("id") Long id, @RequestParam("ano") Integer ano,
+            @RequestAttribute(UsuarioAutenticado.ATRIBUTO) UsuarioAutenticado autenticado) {
+        if (!autenticado.podeAcessar(id)) {
+            return new ResponseEntity(HttpStatus.FORBIDDEN);
         }
-        BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
-        return ResponseEntity.ok(saldo);
+        return ResponseEntity.ok(resumoService.obterResumoAnual(id, ano));
     }
 }
@@ -0,0 +1,32 @@
+package com.lewandowski.minhasfinancas.controller;
+
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+
+/**
+ * ETag forte com a versão (@Version) do lançamento, no formato "3". O If-Match volta no mesmo formato;
+ * ausente ou "*" não fixa versão e vale a lida na transação da alteração.
+ */
+public final class VersaoEtag {
+
+    private VersaoEtag() {
+    }
+
+    public static String etag(Long versao) {
+        return versao == null ? null : "\"" + versao + "\"";
+    }
+
+    public static Long versao(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            throw new RegraNegocioException("If-Match inválido: informe o ETag recebido do lançamento");
+        }
+        try {
+            return Long.valueOf(valor.substring(1, valor.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException("If-Match inválido: informe o ETag recebido do lançamento");
+        }
+    }
+}
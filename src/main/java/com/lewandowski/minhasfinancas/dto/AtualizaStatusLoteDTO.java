@@ -0,0 +1,25 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transição de status em lote: pelos ids informados ou, sem ids, por todos os lançamentos do usuário no
+ * ano (e mês, se informado) que estejam em statusAtual.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AtualizaStatusLoteDTO {
+    private List<Long> ids;
+    private Long idUsuario;
+    private Integer mes;
+    private Integer ano;
+    private String statusAtual;
+    private String status;
+}
@@ -0,0 +1,40 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CursorLancamento {
+    private Integer ano;
+    private Integer mes;
+    private Long id;
+
+    public static CursorLancamento de(Lancamento lancamento) {
+        return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+    }
+
+    public String codificar() {
+        String posicao = ano + ":" + mes + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorLancamento decodificar(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = posicao.split(":");
+            return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DivergenciaResumoDTO {
+    private Long idUsuario;
+    private Integer ano;
+    private Integer mes;
+    private String tipo;
+    private String status;
+    private Money valorRegistrado;
+    private Money valorCalculado;
+    private Long quantidadeRegistrada;
+    private Long quantidadeCalculada;
+}
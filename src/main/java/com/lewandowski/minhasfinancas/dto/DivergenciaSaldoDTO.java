@@ -0,0 +1,15 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DivergenciaSaldoDTO {
+    private Long idUsuario;
+    private String tipo;
+    private Money valorRegistrado;
+    private Money valorCalculado;
+}
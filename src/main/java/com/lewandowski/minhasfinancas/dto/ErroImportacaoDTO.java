@@ -0,0 +1,11 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    private int linha;
+    private String mensagem;
+}
@@ -0,0 +1,27 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamentoDTO {
+    // id do evento: a entrega é pelo menos uma vez, consumidores deduplicam por ele
+    private Long id;
+    private Long sequencia;
+    private String tipo;
+    private Long idLancamento;
+    private Long idUsuario;
+    private LocalDateTime dataCriacao;
+    // LancamentoDTO já serializado na gravação do outbox
+    @JsonRawValue
+    private String lancamento;
+}
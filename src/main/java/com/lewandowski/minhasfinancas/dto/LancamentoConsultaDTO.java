@@ -0,0 +1,33 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.time.LocalDate;
+
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha da busca de lançamentos, montada direto na consulta (ver LancamentoRepositoryCustom#buscarConsulta):
+ * só as colunas de financas.lancamento, com o usuário reduzido à chave estrangeira.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoConsultaDTO {
+    private Long id;
+    private String descricao;
+    private Integer mes;
+    private Integer ano;
+    private Money valor;
+    private Long idUsuario;
+    private TipoLancamento tipo;
+    private StatusLancamento status;
+    private LocalDate dataCadastro;
+    private Long versao;
+}
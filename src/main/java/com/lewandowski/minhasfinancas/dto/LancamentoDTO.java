@@ -1,19 +1,24 @@
 package com.lewandowski.minhasfinancas.dto;
 
-import java.math.BigDecimal;
+import com.lewandowski.minhasfinancas.model.valor.Money;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@AllArgsConstructor
+@NoArgsConstructor
 public class LancamentoDTO {
     private Long id;
     private String descricao;
     private Integer mes;
     private Integer ano;
-    private BigDecimal valor;
+    private Money valor;
     private Long idUsuario;
     private String tipo;
     private String status;
+    private Long versao;
 }
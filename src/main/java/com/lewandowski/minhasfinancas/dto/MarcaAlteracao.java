@@ -0,0 +1,27 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Marca d'água das alterações de um usuário: versao cresce a cada alteração confirmada, em qualquer nó. O
+ * id do usuário entra por extenso na ETag: a mesma URL sem {@code usuario}, resolvida pelo token, nunca
+ * devolve a ETag de outro usuário.
+ */
+@Data
+@AllArgsConstructor
+public class MarcaAlteracao {
+    private Long idUsuario;
+    private long versao;
+    private Instant alteradoEm;
+
+    /**
+     * ETag forte para uma representação; partes são os parâmetros que mudam o conteúdo da resposta.
+     */
+    public String etag(Object... partes) {
+        return "\"" + idUsuario + "-" + versao + "-" + Integer.toHexString(Arrays.hashCode(partes)) + "\"";
+    }
+}
@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MudancasLancamentoDTO {
+    private List<EventoLancamentoDTO> eventos;
+    // valor de since para a próxima chamada; igual ao recebido quando não houve mudanças
+    private Long proximaSequencia;
+}
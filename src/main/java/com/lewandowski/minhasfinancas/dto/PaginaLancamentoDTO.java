@@ -0,0 +1,15 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PaginaLancamentoDTO {
+    private List<Lancamento> itens;
+    private String proximoCursor;
+}
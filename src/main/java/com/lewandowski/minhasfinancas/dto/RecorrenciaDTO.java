@@ -0,0 +1,31 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Recorrência na API: competências em mês/ano; mesFim e anoFim vazios para recorrência sem fim.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+    private Long id;
+    private String descricao;
+    private Money valor;
+    private String tipo;
+    private String periodicidade;
+    private Long idUsuario;
+    private Integer mesInicio;
+    private Integer anoInicio;
+    private Integer mesFim;
+    private Integer anoFim;
+    private Integer proximoMes;
+    private Integer proximoAno;
+    private Boolean ativa;
+}
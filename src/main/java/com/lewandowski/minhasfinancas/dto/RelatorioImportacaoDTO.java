@@ -0,0 +1,13 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class RelatorioImportacaoDTO {
+    private int totalLinhas;
+    private int importadas;
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
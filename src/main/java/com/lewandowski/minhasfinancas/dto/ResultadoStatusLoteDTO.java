@@ -0,0 +1,20 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * conflitos são os ids pedidos que não foram alterados: não existem para o usuário ou já não estavam no
+ * status atual informado.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoStatusLoteDTO {
+    private int quantidade;
+    private List<Long> ids;
+    private List<Long> conflitos;
+}
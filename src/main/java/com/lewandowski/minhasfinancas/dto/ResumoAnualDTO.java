@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ResumoAnualDTO {
+    private Long idUsuario;
+    private Integer ano;
+    private List<ResumoMensalDTO> meses;
+}
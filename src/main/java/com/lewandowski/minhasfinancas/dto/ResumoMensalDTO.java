@@ -0,0 +1,21 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.Data;
+
+@Data
+public class ResumoMensalDTO {
+    private Integer mes;
+    private Money receitas = Money.ZERO;
+    private Money despesas = Money.ZERO;
+    private Money saldo = Money.ZERO;
+    private List<TotalResumoDTO> totais = new ArrayList<>();
+
+    public ResumoMensalDTO(Integer mes) {
+        this.mes = mes;
+    }
+}
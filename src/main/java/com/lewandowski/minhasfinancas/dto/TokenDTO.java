@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenDTO {
+    private String token;
+    private String tipo;
+    private Long expiraEm;
+    private Long idUsuario;
+    private String nome;
+}
@@ -0,0 +1,15 @@
+package com.lewandowski.minhasfinancas.dto;
+
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TotalResumoDTO {
+    private String tipo;
+    private String status;
+    private Money valor;
+    private Long quantidade;
+}
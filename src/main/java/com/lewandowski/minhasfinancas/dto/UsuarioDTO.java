@@ -1,9 +1,13 @@
 package com.lewandowski.minhasfinancas.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 @Builder
 @Getter
+@NoArgsConstructor
+@AllArgsConstructor
 public class UsuarioDTO {
     private String nome;
     private String email;
@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Publicado pelo LancamentoService a cada inclusão, alteração ou exclusão de lançamentos do usuário,
+ * dentro da transação que os alterou.
+ */
+@Data
+@AllArgsConstructor
+public class LancamentoAlteradoEvent {
+    private Long idUsuario;
+}
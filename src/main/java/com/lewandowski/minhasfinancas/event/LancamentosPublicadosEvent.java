@@ -0,0 +1,17 @@
+package com.lewandowski.minhasfinancas.event;
+
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.dto.EventoLancamentoDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Lote publicado pelo relay, em ordem de sequencia; ouvido depois do commit para acordar o long-poll.
+ */
+@Data
+@AllArgsConstructor
+public class LancamentosPublicadosEvent {
+    private List<EventoLancamentoDTO> eventos;
+}
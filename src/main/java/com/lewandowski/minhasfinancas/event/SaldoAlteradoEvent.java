@@ -0,0 +1,13 @@
+package com.lewandowski.minhasfinancas.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Publicado a cada alteração do saldo agregado de um usuário, dentro da transação que o alterou.
+ */
+@Data
+@AllArgsConstructor
+public class SaldoAlteradoEvent {
+    private Long idUsuario;
+}
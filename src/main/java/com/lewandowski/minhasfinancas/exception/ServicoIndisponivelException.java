@@ -0,0 +1,8 @@
+package com.lewandowski.minhasfinancas.exception;
+
+public class ServicoIndisponivelException extends RuntimeException {
+
+    public ServicoIndisponivelException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,25 @@
+package com.lewandowski.minhasfinancas.job;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.lewandowski.minhasfinancas.service.ParticaoLancamentoService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "financas.lancamentos.particionado", havingValue = "true")
+public class ParticaoLancamentoJob {
+
+    private final ParticaoLancamentoService service;
+
+    @Scheduled(cron = "${financas.lancamentos.particoes.cron:-}")
+    public void executar() {
+        service.criarParticoesFuturas();
+        log.info("Partições futuras de lançamentos verificadas");
+    }
+}
@@ -0,0 +1,36 @@
+package com.lewandowski.minhasfinancas.job;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaResumoDTO;
+import com.lewandowski.minhasfinancas.service.ResumoMensalService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliacaoResumoJob {
+
+    private final ResumoMensalService service;
+
+    @Scheduled(cron = "${financas.resumo.reconciliacao.cron:-}")
+    public void executar() {
+        List<DivergenciaResumoDTO> divergencias = service.reconciliar();
+        if (divergencias.isEmpty()) {
+            log.info("Reconciliação do resumo mensal concluída sem divergências");
+            return;
+        }
+        for (DivergenciaResumoDTO divergencia : divergencias) {
+            log.warn("Resumo mensal divergente corrigido: usuario={}, ano={}, mes={}, tipo={}, status={}, "
+                    + "registrado={} ({}), calculado={} ({})",
+                    divergencia.getIdUsuario(), divergencia.getAno(), divergencia.getMes(), divergencia.getTipo(),
+                    divergencia.getStatus(), divergencia.getValorRegistrado(), divergencia.getQuantidadeRegistrada(),
+                    divergencia.getValorCalculado(), divergencia.getQuantidadeCalculada());
+        }
+    }
+}
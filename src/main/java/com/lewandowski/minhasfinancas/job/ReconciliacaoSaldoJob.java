@@ -0,0 +1,34 @@
+package com.lewandowski.minhasfinancas.job;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaSaldoDTO;
+import com.lewandowski.minhasfinancas.service.SaldoUsuarioService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliacaoSaldoJob {
+
+    private final SaldoUsuarioService service;
+
+    @Scheduled(cron = "${financas.saldo.reconciliacao.cron:-}")
+    public void executar() {
+        List<DivergenciaSaldoDTO> divergencias = service.reconciliar();
+        if (divergencias.isEmpty()) {
+            log.info("Reconciliação de saldos concluída sem divergências");
+            return;
+        }
+        for (DivergenciaSaldoDTO divergencia : divergencias) {
+            log.warn("Saldo divergente corrigido: usuario={}, tipo={}, registrado={}, calculado={}",
+                    divergencia.getIdUsuario(), divergencia.getTipo(),
+                    divergencia.getValorRegistrado(), divergencia.getValorCalculado());
+        }
+    }
+}
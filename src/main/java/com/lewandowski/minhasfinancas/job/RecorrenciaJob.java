@@ -0,0 +1,61 @@
+package com.lewandowski.minhasfinancas.job;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.lewandowski.minhasfinancas.model.entity.Recorrencia;
+import com.lewandowski.minhasfinancas.service.RecorrenciaService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Materializa as recorrências vencidas até o mês corrente. Cada worker consome lotes até a fila esvaziar;
+ * workers deste e de outros nós repartem a fila pelo SKIP LOCKED, sem coordenação entre si.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecorrenciaJob {
+
+    private final RecorrenciaService service;
+
+    @Value("${financas.recorrencias.paralelismo:2}")
+    private int paralelismo;
+
+    @Scheduled(cron = "${financas.recorrencias.cron:-}")
+    public void executar() {
+        YearMonth agora = YearMonth.now();
+        int competencia = Recorrencia.competencia(agora.getYear(), agora.getMonthValue());
+        try (ExecutorService workers = Executors.newFixedThreadPool(paralelismo)) {
+            List<CompletableFuture<Long>> execucoes = IntStream.range(0, paralelismo)
+                    .mapToObj(worker -> CompletableFuture.supplyAsync(() -> materializar(competencia), workers))
+                    .collect(Collectors.toList());
+            long geradas = execucoes.stream().mapToLong(CompletableFuture::join).sum();
+            log.info("Ocorrências de recorrências materializadas até {}: {}", agora, geradas);
+        }
+    }
+
+    // um lote que falha volta inteiro para a fila; o worker para e a próxima execução tenta de novo
+    private long materializar(int competencia) {
+        long geradas = 0;
+        try {
+            int lote;
+            while ((lote = service.materializarVencidas(competencia)) > 0) {
+                geradas += lote;
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao materializar recorrências; as pendentes ficam para a próxima execução", e);
+        }
+        return geradas;
+    }
+}
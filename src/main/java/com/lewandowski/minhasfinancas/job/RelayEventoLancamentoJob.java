@@ -0,0 +1,41 @@
+package com.lewandowski.minhasfinancas.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.lewandowski.minhasfinancas.service.EventoLancamentoService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "financas.eventos.relay.habilitado", havingValue = "true", matchIfMissing = true)
+public class RelayEventoLancamentoJob {
+
+    private final EventoLancamentoService service;
+
+    @Value("${financas.eventos.relay.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${financas.eventos.relay.lotes-por-execucao:20}")
+    private int lotesPorExecucao;
+
+    // limitado por execução para não segurar a thread de agendamento dos outros jobs
+    @Scheduled(fixedDelayString = "${financas.eventos.relay.intervalo-ms:500}")
+    public void publicar() {
+        for (int lote = 0; lote < lotesPorExecucao; lote++) {
+            if (service.publicarPendentes() < tamanhoLote) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${financas.eventos.expurgo.cron:-}")
+    public void expurgar() {
+        log.info("Eventos de lançamento publicados expurgados: {}", service.expurgarPublicados());
+    }
+}
@@ -0,0 +1,61 @@
+package com.lewandowski.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import com.lewandowski.minhasfinancas.model.enums.TipoEventoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha do outbox: gravada junto com a alteração do lançamento e marcada com a sequencia quando publicada.
+ */
+@Entity
+@Table(name = "evento_lancamento", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamento {
+
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_lancamento_sequence")
+    @SequenceGenerator(name = "evento_lancamento_sequence", schema = "financas",
+                        sequenceName = "evento_lancamento_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "id_lancamento")
+    private Long idLancamento;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column
+    @Enumerated(value = EnumType.STRING)
+    private TipoEventoLancamento tipo;
+
+    @Column
+    private String payload;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column
+    private Long sequencia;
+
+    @Column(name = "publicado_em")
+    private LocalDateTime publicadoEm;
+}
@@ -1,27 +1,33 @@
 package com.lewandowski.minhasfinancas.model.entity;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.ManyToOne;
-import javax.persistence.Table;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.PartitionKey;
 
 import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
 import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 @Entity
+@DynamicUpdate
 @Table(name = "lancamento", schema = "financas")
 @Data
 @AllArgsConstructor
@@ -32,7 +38,8 @@ public class Lancamento {
 
     @Id
     @Column
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_sequence")
+    @SequenceGenerator(name = "lancamento_sequence", sequenceName = "hibernate_sequence", allocationSize = 50)
     private Long id;
 
     @Column
@@ -41,7 +48,9 @@ public class Lancamento {
     @Column
     private Integer mes;
 
+    // chave de partição no Postgres: entra no WHERE do UPDATE e do DELETE, que só abrem a partição do ano
     @Column
+    @PartitionKey
     private Integer ano;
 
     @ManyToOne
@@ -49,7 +58,7 @@ public class Lancamento {
     private Usuario idUsuario;
 
     @Column
-    private BigDecimal valor;
+    private Money valor;
 
     @Column(name = "data_cadastro")
     private LocalDate dataCadastro;
@@ -62,4 +71,12 @@ public class Lancamento {
     @Enumerated(value = EnumType.STRING)
     private StatusLancamento status;
 
+    @Version
+    @Column
+    private Long versao;
+
+    // ocorrência gerada por uma Recorrencia; único por (id_recorrencia, ano, mes)
+    @Column(name = "id_recorrencia")
+    private Long idRecorrencia;
+
 }
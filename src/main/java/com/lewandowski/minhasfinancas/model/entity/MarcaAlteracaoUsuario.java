@@ -0,0 +1,31 @@
+package com.lewandowski.minhasfinancas.model.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "marca_alteracao_usuario", schema = "financas")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MarcaAlteracaoUsuario {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column
+    private long versao;
+
+    @Column(name = "alterado_em")
+    private Instant alteradoEm;
+
+}
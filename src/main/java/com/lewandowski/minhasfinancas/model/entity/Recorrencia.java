@@ -0,0 +1,100 @@
+package com.lewandowski.minhasfinancas.model.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import com.lewandowski.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Definição de um lançamento recorrente. Competências são meses corridos (ano * 12 + mes - 1), o que deixa
+ * o vencimento numa comparação de inteiros; proximaCompetencia é a primeira ainda não materializada.
+ */
+@Entity
+@Table(name = "recorrencia", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recorrencia_sequence")
+    @SequenceGenerator(name = "recorrencia_sequence", schema = "financas",
+                        sequenceName = "recorrencia_seq", allocationSize = 50)
+    private Long id;
+
+    // só a chave é usada na materialização: o proxy vira a referência de cada lançamento gerado
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_usuario")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Usuario idUsuario;
+
+    @Column
+    private String descricao;
+
+    @Column
+    private Money valor;
+
+    @Column
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column
+    @Enumerated(value = EnumType.STRING)
+    private PeriodicidadeRecorrencia periodicidade;
+
+    @Column(name = "competencia_inicio")
+    private Integer competenciaInicio;
+
+    @Column(name = "competencia_fim")
+    private Integer competenciaFim;
+
+    @Column(name = "proxima_competencia")
+    private Integer proximaCompetencia;
+
+    @Column
+    private boolean ativa;
+
+    @Column(name = "data_cadastro")
+    private LocalDate dataCadastro;
+
+    @Version
+    @Column
+    private Long versao;
+
+    public static int competencia(int ano, int mes) {
+        return ano * 12 + mes - 1;
+    }
+
+    public static int ano(int competencia) {
+        return competencia / 12;
+    }
+
+    public static int mes(int competencia) {
+        return competencia % 12 + 1;
+    }
+}
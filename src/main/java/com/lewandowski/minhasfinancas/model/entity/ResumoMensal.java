@@ -0,0 +1,55 @@
+package com.lewandowski.minhasfinancas.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "resumo_mensal", schema = "financas")
+@IdClass(ResumoMensalId.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoMensal {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Id
+    @Column
+    private Integer ano;
+
+    @Id
+    @Column
+    private Integer mes;
+
+    @Id
+    @Column
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Id
+    @Column
+    @Enumerated(value = EnumType.STRING)
+    private StatusLancamento status;
+
+    @Column
+    private Money valor;
+
+    @Column
+    private Long quantidade;
+
+}
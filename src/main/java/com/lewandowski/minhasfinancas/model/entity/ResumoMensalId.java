@@ -0,0 +1,24 @@
+package com.lewandowski.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoMensalId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long idUsuario;
+    private Integer ano;
+    private Integer mes;
+    private TipoLancamento tipo;
+    private StatusLancamento status;
+}
@@ -0,0 +1,38 @@
+package com.lewandowski.minhasfinancas.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "saldo_usuario", schema = "financas")
+@IdClass(SaldoUsuarioId.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SaldoUsuario {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Id
+    @Column
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column
+    private Money valor;
+
+}
@@ -0,0 +1,20 @@
+package com.lewandowski.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SaldoUsuarioId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long idUsuario;
+    private TipoLancamento tipo;
+}
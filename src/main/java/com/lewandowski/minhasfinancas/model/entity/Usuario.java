@@ -2,17 +2,27 @@ package com.lewandowski.minhasfinancas.model.entity;
 
 import java.time.LocalDate;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.Table;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.lewandowski.minhasfinancas.config.CacheSegundoNivelConfig;
 
 import lombok.Builder;
 import lombok.Data;
 
 @Entity
+@DynamicUpdate
+@NaturalIdCache(region = CacheSegundoNivelConfig.USUARIO_EMAIL)
 @Table(name = "usuario", schema = "financas")
 @Data
 @Builder
@@ -22,19 +32,25 @@ public class Usuario {
     private Long id;
     @Column
     private String nome;
+    @NaturalId
     @Column
     private String email;
     @Column
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String senha;
     @Column(name = "data_cadastro")
     private LocalDate dataCadastro;
+    @Version
+    @Column
+    private Long versao;
     
-    public Usuario(Long id, String nome, String email, String senha, LocalDate dataCadastro) {
+    public Usuario(Long id, String nome, String email, String senha, LocalDate dataCadastro, Long versao) {
         this.id = id;
         this.nome = nome;
         this.email = email;
         this.senha = senha;
         this.dataCadastro = dataCadastro;
+        this.versao = versao;
     }
 
     public Usuario() {
@@ -0,0 +1,19 @@
+package com.lewandowski.minhasfinancas.model.enums;
+
+public enum PeriodicidadeRecorrencia {
+    MENSAL(1),
+    BIMESTRAL(2),
+    TRIMESTRAL(3),
+    SEMESTRAL(6),
+    ANUAL(12);
+
+    private final int meses;
+
+    PeriodicidadeRecorrencia(int meses) {
+        this.meses = meses;
+    }
+
+    public int getMeses() {
+        return meses;
+    }
+}
@@ -0,0 +1,8 @@
+package com.lewandowski.minhasfinancas.model.enums;
+
+public enum TipoEventoLancamento {
+    CRIADO,
+    ATUALIZADO,
+    STATUS_ALTERADO,
+    EXCLUIDO
+}
@@ -0,0 +1,49 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+
+@Repository
+@ConditionalOnProperty(name = "financas.busca.descricao", havingValue = "like")
+public class BuscaDescricaoLikeRepository implements BuscaDescricaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Lancamento> buscarPorDescricao(Lancamento filtro, int limite) {
+        StringBuilder jpql = new StringBuilder()
+                .append(" SELECT l FROM Lancamento l ")
+                .append(" WHERE l.idUsuario.id = :idUsuario AND lower(l.descricao) LIKE :contendo ESCAPE '\\' ");
+        if (filtro.getMes() != null) {
+            jpql.append(" AND l.mes = :mes ");
+        }
+        if (filtro.getAno() != null) {
+            jpql.append(" AND l.ano = :ano ");
+        }
+        jpql.append(" ORDER BY CASE WHEN lower(l.descricao) LIKE :prefixo ESCAPE '\\' THEN 0 ELSE 1 END, ")
+            .append(" length(l.descricao), l.id ");
+
+        String termo = BuscaDescricaoRepository.escaparLike(filtro.getDescricao().trim().toLowerCase());
+        TypedQuery<Lancamento> query = entityManager.createQuery(jpql.toString(), Lancamento.class)
+                .setParameter("idUsuario", filtro.getIdUsuario().getId())
+                .setParameter("contendo", "%" + termo + "%")
+                .setParameter("prefixo", termo + "%")
+                .setMaxResults(limite);
+        if (filtro.getMes() != null) {
+            query.setParameter("mes", filtro.getMes());
+        }
+        if (filtro.getAno() != null) {
+            query.setParameter("ano", filtro.getAno());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+
+public interface BuscaDescricaoRepository {
+
+    List<Lancamento> buscarPorDescricao(Lancamento filtro, int limite);
+
+    static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,51 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+
+@Repository
+@ConditionalOnProperty(name = "financas.busca.descricao", havingValue = "trigrama", matchIfMissing = true)
+public class BuscaDescricaoTrigramaRepository implements BuscaDescricaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Lancamento> buscarPorDescricao(Lancamento filtro, int limite) {
+        StringBuilder sql = new StringBuilder()
+                .append(" SELECT l.* FROM financas.lancamento l ")
+                .append(" WHERE l.id_usuario = :idUsuario AND l.descricao ILIKE :contendo ");
+        if (filtro.getMes() != null) {
+            sql.append(" AND l.mes = :mes ");
+        }
+        if (filtro.getAno() != null) {
+            sql.append(" AND l.ano = :ano ");
+        }
+        sql.append(" ORDER BY l.descricao ILIKE :prefixo DESC, similarity(l.descricao, :termo) DESC, l.id ")
+           .append(" LIMIT :limite ");
+
+        String termo = BuscaDescricaoRepository.escaparLike(filtro.getDescricao().trim());
+        Query query = entityManager.createNativeQuery(sql.toString(), Lancamento.class)
+                .setParameter("idUsuario", filtro.getIdUsuario().getId())
+                .setParameter("contendo", "%" + termo + "%")
+                .setParameter("prefixo", termo + "%")
+                .setParameter("termo", filtro.getDescricao().trim())
+                .setParameter("limite", limite);
+        if (filtro.getMes() != null) {
+            query.setParameter("mes", filtro.getMes());
+        }
+        if (filtro.getAno() != null) {
+            query.setParameter("ano", filtro.getAno());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Os upserts dos agregados não têm forma comum aos dois bancos: o Postgres usa INSERT ... ON CONFLICT, que
+ * é atômico sob concorrência, e o H2 dos testes usa MERGE.
+ */
+final class Dialeto {
+
+    private Dialeto() {
+    }
+
+    static boolean postgres(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
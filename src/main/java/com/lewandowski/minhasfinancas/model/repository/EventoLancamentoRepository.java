@@ -0,0 +1,38 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.lewandowski.minhasfinancas.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+
+    List<EventoLancamento> findBySequenciaIsNullOrderByIdAsc(Pageable pagina);
+
+    List<EventoLancamento> findByIdUsuarioAndSequenciaGreaterThanOrderBySequenciaAsc(Long idUsuario, Long sequencia,
+                                                                                    Pageable pagina);
+
+    @Query(value = " SELECT ultima_sequencia FROM financas.evento_lancamento_relay WHERE id = 1 FOR UPDATE ",
+            nativeQuery = true)
+    Long travarUltimaSequencia();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financas.evento_lancamento_relay"))
+    @Query(value = " UPDATE financas.evento_lancamento_relay SET ultima_sequencia = :sequencia WHERE id = 1 ",
+            nativeQuery = true)
+    int registrarUltimaSequencia(@Param("sequencia") Long sequencia);
+
+    @Modifying
+    @Query(value = " DELETE FROM EventoLancamento e WHERE e.publicadoEm < :limite ")
+    int expurgarPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
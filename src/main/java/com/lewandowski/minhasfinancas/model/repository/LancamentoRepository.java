@@ -1,19 +1,51 @@
 package com.lewandowski.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
 import com.lewandowski.minhasfinancas.model.entity.Lancamento;
-import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
+
+    @Query(" SELECT new com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO(l.id, l.descricao, l.mes, l.ano, "
+         + " l.valor, l.idUsuario.id, l.tipo, l.status, l.dataCadastro, l.versao) "
+         + " FROM Lancamento l WHERE l.id = :id ")
+    Optional<LancamentoConsultaDTO> buscarConsultaPorId( @Param("id") Long id);
+
+    // ordenado por id: duas transições em lote concorrentes travam as linhas na mesma ordem, sem deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(" SELECT l FROM Lancamento l "
+         + " WHERE l.idUsuario.id = :idUsuario AND l.status = :status AND l.id IN :ids ORDER BY l.id ")
+    List<Lancamento> travarPorIds( @Param("idUsuario") Long idUsuario,
+                                   @Param("status") StatusLancamento status,
+                                   @Param("ids") Collection<Long> ids);
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(" SELECT l FROM Lancamento l "
+         + " WHERE l.idUsuario.id = :idUsuario AND l.status = :status AND l.ano = :ano "
+         + " AND (:mes IS NULL OR l.mes = :mes) ORDER BY l.id ")
+    List<Lancamento> travarPorPeriodo( @Param("idUsuario") Long idUsuario,
+                                       @Param("status") StatusLancamento status,
+                                       @Param("ano") Integer ano,
+                                       @Param("mes") Integer mes);
 
-    @Query(value = " SELECT SUM(l.valor) "
-                + " FROM Lancamento l JOIN l.idUsuario u WHERE u.id = :idUsuario and l.tipo = :tipo"
-                + " GROUP BY u")
-    BigDecimal obterSaldoPorTipoLancamentoEUsuario( @Param("idUsuario") Long idUsuario, 
-                                                    @Param("tipo") TipoLancamento tipo);
+    // a versão sobe junto: quem tiver lido antes do lote recebe conflito ao gravar a cópia antiga
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" UPDATE Lancamento l SET l.status = :novo, l.versao = l.versao + 1 "
+         + " WHERE l.ano = :ano AND l.status = :atual AND l.id IN :ids ")
+    int atualizarStatus( @Param("ano") Integer ano,
+                         @Param("ids") Collection<Long> ids,
+                         @Param("atual") StatusLancamento atual,
+                         @Param("novo") StatusLancamento novo);
 }
@@ -0,0 +1,27 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.lewandowski.minhasfinancas.dto.CursorLancamento;
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface LancamentoRepositoryCustom {
+
+    List<LancamentoConsultaDTO> buscarConsulta(Lancamento filtro);
+
+    List<Lancamento> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite);
+
+    Stream<Lancamento> buscarStream(Lancamento filtro);
+
+    List<SaldoUsuario> obterSaldosPorUsuarioETipo();
+
+    List<SaldoUsuario> obterSaldosPorTipo(Long idUsuario);
+
+    List<ResumoMensal> obterResumosMensais();
+
+    List<ResumoMensal> obterResumosMensais(Long idUsuario);
+}
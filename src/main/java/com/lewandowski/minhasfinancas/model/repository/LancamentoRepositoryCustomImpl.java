@@ -0,0 +1,200 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.lewandowski.minhasfinancas.config.CacheSegundoNivelConfig;
+import com.lewandowski.minhasfinancas.dto.CursorLancamento;
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+public class LancamentoRepositoryCustomImpl implements LancamentoRepositoryCustom {
+
+    private static final int TAMANHO_LOTE_CURSOR = 500;
+
+    // lancamento_arquivo recebe as partições anuais arquivadas; o saldo continua considerando esses valores
+    private static final String SALDOS_POR_USUARIO_E_TIPO = " SELECT l.id_usuario, l.tipo, SUM(l.valor) "
+            + " FROM (SELECT id_usuario, tipo, valor FROM financas.lancamento "
+            + "       UNION ALL SELECT id_usuario, tipo, valor FROM financas.lancamento_arquivo) l "
+            + " WHERE l.id_usuario IS NOT NULL "
+            + " GROUP BY l.id_usuario, l.tipo";
+
+    private static final String SALDOS_DO_USUARIO_POR_TIPO = " SELECT l.id_usuario, l.tipo, SUM(l.valor) "
+            + " FROM (SELECT id_usuario, tipo, valor FROM financas.lancamento WHERE id_usuario = :idUsuario "
+            + "       UNION ALL SELECT id_usuario, tipo, valor FROM financas.lancamento_arquivo "
+            + "       WHERE id_usuario = :idUsuario) l "
+            + " GROUP BY l.id_usuario, l.tipo";
+
+    // lançamento sem status conta como PENDENTE, como em ResumoMensalServiceImpl#chave
+    private static final String RESUMOS_MENSAIS = " SELECT l.id_usuario, l.ano, l.mes, l.tipo, "
+            + "        COALESCE(l.status, 'PENDENTE'), SUM(l.valor), COUNT(*) "
+            + " FROM (SELECT id_usuario, ano, mes, tipo, status, valor FROM financas.lancamento "
+            + "       UNION ALL SELECT id_usuario, ano, mes, tipo, status, valor FROM financas.lancamento_arquivo) l "
+            + " WHERE l.id_usuario IS NOT NULL "
+            + " GROUP BY l.id_usuario, l.ano, l.mes, l.tipo, COALESCE(l.status, 'PENDENTE')";
+
+    private static final String RESUMOS_MENSAIS_DO_USUARIO = " SELECT l.id_usuario, l.ano, l.mes, l.tipo, "
+            + "        COALESCE(l.status, 'PENDENTE'), SUM(l.valor), COUNT(*) "
+            + " FROM (SELECT id_usuario, ano, mes, tipo, status, valor FROM financas.lancamento "
+            + "       WHERE id_usuario = :idUsuario "
+            + "       UNION ALL SELECT id_usuario, ano, mes, tipo, status, valor FROM financas.lancamento_arquivo "
+            + "       WHERE id_usuario = :idUsuario) l "
+            + " GROUP BY l.id_usuario, l.ano, l.mes, l.tipo, COALESCE(l.status, 'PENDENTE')";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca da API (GET /api/lancamentos) numa única instrução, sem entidades: o usuário sai da chave
+     * estrangeira id_usuario, sem join nem carga do Usuario. Com o cache de consultas ligado (só em nó único,
+     * ver application.properties) qualquer escrita em financas.lancamento pelo Hibernate, inclusive o UPDATE
+     * em lote, invalida a região e o arquivamento de partições, que roda fora dele, a esvazia explicitamente.
+     */
+    @Override
+    public List<LancamentoConsultaDTO> buscarConsulta(Lancamento filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LancamentoConsultaDTO> query = cb.createQuery(LancamentoConsultaDTO.class);
+        Root<Lancamento> root = query.from(Lancamento.class);
+
+        query.select(cb.construct(LancamentoConsultaDTO.class,
+                        root.get("id"), root.get("descricao"), root.get("mes"), root.get("ano"), root.get("valor"),
+                        root.get("idUsuario").get("id"), root.get("tipo"), root.get("status"),
+                        root.get("dataCadastro"), root.get("versao")))
+             .where(predicados(cb, root, filtro, null))
+             .orderBy(ordenacao(cb, root));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, CacheSegundoNivelConfig.CONSULTAS_LANCAMENTO)
+                .getResultList();
+    }
+
+    @Override
+    public List<Lancamento> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite) {
+        return entityManager.createQuery(criarConsulta(filtro, cursor))
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Lancamento> buscarStream(Lancamento filtro) {
+        return entityManager.createQuery(criarConsulta(filtro, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_CURSOR)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SaldoUsuario> obterSaldosPorUsuarioETipo() {
+        List<Object[]> linhas = entityManager.createNativeQuery(SALDOS_POR_USUARIO_E_TIPO).getResultList();
+        return converterSaldos(linhas);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SaldoUsuario> obterSaldosPorTipo(Long idUsuario) {
+        List<Object[]> linhas = entityManager.createNativeQuery(SALDOS_DO_USUARIO_POR_TIPO)
+                .setParameter("idUsuario", idUsuario)
+                .getResultList();
+        return converterSaldos(linhas);
+    }
+
+    private static List<SaldoUsuario> converterSaldos(List<Object[]> linhas) {
+        return linhas.stream()
+                .map(linha -> new SaldoUsuario(((Number) linha[0]).longValue(),
+                                               TipoLancamento.valueOf((String) linha[1]),
+                                               Money.of((BigDecimal) linha[2])))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ResumoMensal> obterResumosMensais() {
+        return converterResumos(entityManager.createNativeQuery(RESUMOS_MENSAIS).getResultList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ResumoMensal> obterResumosMensais(Long idUsuario) {
+        return converterResumos(entityManager.createNativeQuery(RESUMOS_MENSAIS_DO_USUARIO)
+                .setParameter("idUsuario", idUsuario)
+                .getResultList());
+    }
+
+    private static List<ResumoMensal> converterResumos(List<Object[]> linhas) {
+        return linhas.stream()
+                .map(linha -> new ResumoMensal(((Number) linha[0]).longValue(), ((Number) linha[1]).intValue(),
+                                               ((Number) linha[2]).intValue(), TipoLancamento.valueOf((String) linha[3]),
+                                               StatusLancamento.valueOf((String) linha[4]),
+                                               Money.of((BigDecimal) linha[5]), ((Number) linha[6]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    private CriteriaQuery<Lancamento> criarConsulta(Lancamento filtro, CursorLancamento cursor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Lancamento> query = cb.createQuery(Lancamento.class);
+        Root<Lancamento> root = query.from(Lancamento.class);
+        root.fetch("idUsuario", JoinType.LEFT);
+
+        return query.select(root)
+                .where(predicados(cb, root, filtro, cursor))
+                .orderBy(ordenacao(cb, root));
+    }
+
+    private static Predicate[] predicados(CriteriaBuilder cb, Root<Lancamento> root, Lancamento filtro,
+                                          CursorLancamento cursor) {
+        Path<Integer> ano = root.get("ano");
+        Path<Integer> mes = root.get("mes");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicados = new ArrayList<>();
+        if (filtro.getIdUsuario() != null) {
+            predicados.add(cb.equal(root.get("idUsuario").get("id"), filtro.getIdUsuario().getId()));
+        }
+        if (filtro.getDescricao() != null) {
+            String termo = BuscaDescricaoRepository.escaparLike(filtro.getDescricao().toLowerCase());
+            predicados.add(cb.like(cb.lower(root.<String>get("descricao")), "%" + termo + "%", '\\'));
+        }
+        if (filtro.getMes() != null) {
+            predicados.add(cb.equal(mes, filtro.getMes()));
+        }
+        if (filtro.getAno() != null) {
+            predicados.add(cb.equal(ano, filtro.getAno()));
+        }
+        if (cursor != null) {
+            predicados.add(cb.or(
+                    cb.greaterThan(ano, cursor.getAno()),
+                    cb.and(cb.equal(ano, cursor.getAno()), cb.or(
+                            cb.greaterThan(mes, cursor.getMes()),
+                            cb.and(cb.equal(mes, cursor.getMes()), cb.greaterThan(id, cursor.getId()))))));
+        }
+
+        return predicados.toArray(new Predicate[0]);
+    }
+
+    private static List<Order> ordenacao(CriteriaBuilder cb, Root<Lancamento> root) {
+        return List.of(cb.asc(root.get("ano")), cb.asc(root.get("mes")), cb.asc(root.get("id")));
+    }
+}
@@ -0,0 +1,9 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.lewandowski.minhasfinancas.model.entity.MarcaAlteracaoUsuario;
+
+public interface MarcaAlteracaoUsuarioRepository
+        extends JpaRepository<MarcaAlteracaoUsuario, Long>, MarcaAlteracaoUsuarioRepositoryCustom {
+}
@@ -0,0 +1,8 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+public interface MarcaAlteracaoUsuarioRepositoryCustom {
+
+    void avancar(Long idUsuario);
+
+    void avancarTodos();
+}
@@ -0,0 +1,52 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.jpa.HibernateHints;
+
+public class MarcaAlteracaoUsuarioRepositoryCustomImpl implements MarcaAlteracaoUsuarioRepositoryCustom {
+
+    private static final String ESPACO = "financas.marca_alteracao_usuario";
+
+    // GREATEST: o relógio do banco é o mesmo para todos os nós, mas o CURRENT_TIMESTAMP do Postgres é o
+    // início da transação, e uma transação longa não pode fazer o Last-Modified voltar
+    private static final String AVANCAR_POSTGRES = " INSERT INTO financas.marca_alteracao_usuario "
+            + " (id_usuario, versao, alterado_em) VALUES (:idUsuario, 1, CURRENT_TIMESTAMP) "
+            + " ON CONFLICT (id_usuario) DO UPDATE SET versao = financas.marca_alteracao_usuario.versao + 1, "
+            + " alterado_em = GREATEST(financas.marca_alteracao_usuario.alterado_em, EXCLUDED.alterado_em)";
+
+    private static final String AVANCAR_H2 = " MERGE INTO financas.marca_alteracao_usuario m "
+            + " USING (SELECT CAST(:idUsuario AS BIGINT) AS id_usuario) n "
+            + " ON m.id_usuario = n.id_usuario "
+            + " WHEN MATCHED THEN UPDATE SET versao = m.versao + 1, "
+            + "      alterado_em = GREATEST(m.alterado_em, CURRENT_TIMESTAMP) "
+            + " WHEN NOT MATCHED THEN INSERT (id_usuario, versao, alterado_em) "
+            + "      VALUES (n.id_usuario, 1, CURRENT_TIMESTAMP)";
+
+    private static final String AVANCAR_TODOS = " UPDATE financas.marca_alteracao_usuario "
+            + " SET versao = versao + 1, alterado_em = GREATEST(alterado_em, CURRENT_TIMESTAMP)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Cria a marca na versão 1 ou soma um, numa instrução só, como o saldo em
+     * {@link SaldoUsuarioRepositoryCustomImpl#somarValor}. A linha fica travada até o commit da alteração.
+     */
+    @Override
+    public void avancar(Long idUsuario) {
+        entityManager.createNativeQuery(Dialeto.postgres(entityManager) ? AVANCAR_POSTGRES : AVANCAR_H2)
+                .setParameter("idUsuario", idUsuario)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, ESPACO)
+                .executeUpdate();
+    }
+
+    // alterações feitas por fora do Hibernate, como o arquivamento de uma partição, valem para todos
+    @Override
+    public void avancarTodos() {
+        entityManager.createNativeQuery(AVANCAR_TODOS)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, ESPACO)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,24 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.lewandowski.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+    List<Recorrencia> findByIdUsuarioIdOrderByIdAsc(Long idUsuario);
+
+    /**
+     * Próximo lote vencido, travado até o fim da transação. SKIP LOCKED reparte a fila entre nós e workers
+     * sem espera: cada um pega linhas que nenhum outro está materializando.
+     */
+    @Query(value = " SELECT * FROM financas.recorrencia "
+                 + " WHERE ativa = true AND proxima_competencia <= :competencia "
+                 + " ORDER BY proxima_competencia, id LIMIT :limite FOR UPDATE SKIP LOCKED ", nativeQuery = true)
+    List<Recorrencia> travarVencidas( @Param("competencia") int competencia,
+                                      @Param("limite") int limite);
+}
@@ -0,0 +1,13 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensalId;
+
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId>, ResumoMensalRepositoryCustom {
+
+    List<ResumoMensal> findByIdUsuarioAndAno(Long idUsuario, Integer ano);
+}
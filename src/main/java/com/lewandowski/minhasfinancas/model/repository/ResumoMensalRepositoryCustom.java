@@ -0,0 +1,18 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensalId;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+public interface ResumoMensalRepositoryCustom {
+
+    void somar(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+               Money valor, Long quantidade);
+
+    List<ResumoMensal> travarPorUsuario(Long idUsuario, Collection<ResumoMensalId> chaves);
+}
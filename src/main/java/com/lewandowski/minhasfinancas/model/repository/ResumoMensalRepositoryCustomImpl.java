@@ -0,0 +1,86 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensalId;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+public class ResumoMensalRepositoryCustomImpl implements ResumoMensalRepositoryCustom {
+
+    private static final String ESPACO = "financas.resumo_mensal";
+
+    private static final String SOMAR_POSTGRES = " INSERT INTO financas.resumo_mensal "
+            + " (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+            + " VALUES (:idUsuario, :ano, :mes, :tipo, :status, :valor, :quantidade) "
+            + " ON CONFLICT (id_usuario, ano, mes, tipo, status) DO UPDATE "
+            + " SET valor = financas.resumo_mensal.valor + EXCLUDED.valor, "
+            + "     quantidade = financas.resumo_mensal.quantidade + EXCLUDED.quantidade";
+
+    private static final String SOMAR_H2 = " MERGE INTO financas.resumo_mensal r "
+            + " USING (SELECT CAST(:idUsuario AS BIGINT) AS id_usuario, CAST(:ano AS INTEGER) AS ano, "
+            + "        CAST(:mes AS INTEGER) AS mes, CAST(:tipo AS VARCHAR(20)) AS tipo, "
+            + "        CAST(:status AS VARCHAR(20)) AS status, CAST(:valor AS NUMERIC(16, 2)) AS valor, "
+            + "        CAST(:quantidade AS BIGINT) AS quantidade) n "
+            + " ON r.id_usuario = n.id_usuario AND r.ano = n.ano AND r.mes = n.mes "
+            + "    AND r.tipo = n.tipo AND r.status = n.status "
+            + " WHEN MATCHED THEN UPDATE SET valor = r.valor + n.valor, quantidade = r.quantidade + n.quantidade "
+            + " WHEN NOT MATCHED THEN INSERT (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+            + "      VALUES (n.id_usuario, n.ano, n.mes, n.tipo, n.status, n.valor, n.quantidade)";
+
+    private static final String RESUMOS_DO_USUARIO = " SELECT ano, mes, tipo, status, valor, quantidade "
+            + " FROM financas.resumo_mensal WHERE id_usuario = :idUsuario";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Mesma soma atômica do saldo (ver SaldoUsuarioRepositoryCustomImpl#somarValor): a linha do mês é
+     * criada ou somada numa única instrução, e só as consultas que dependem de resumo_mensal são invalidadas.
+     */
+    @Override
+    public void somar(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+                      Money valor, Long quantidade) {
+        entityManager.createNativeQuery(Dialeto.postgres(entityManager) ? SOMAR_POSTGRES : SOMAR_H2)
+                .setParameter("idUsuario", idUsuario)
+                .setParameter("ano", ano)
+                .setParameter("mes", mes)
+                .setParameter("tipo", tipo.name())
+                .setParameter("status", status.name())
+                .setParameter("valor", valor.toBigDecimal())
+                .setParameter("quantidade", quantidade)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, ESPACO)
+                .executeUpdate();
+    }
+
+    /**
+     * Trava as chaves informadas somando zero, na ordem recebida, e lê as linhas do usuário depois da trava,
+     * sem passar pelo contexto de persistência.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ResumoMensal> travarPorUsuario(Long idUsuario, Collection<ResumoMensalId> chaves) {
+        for (ResumoMensalId chave : chaves) {
+            somar(idUsuario, chave.getAno(), chave.getMes(), chave.getTipo(), chave.getStatus(), Money.ZERO, 0L);
+        }
+        List<Object[]> linhas = entityManager.createNativeQuery(RESUMOS_DO_USUARIO)
+                .setParameter("idUsuario", idUsuario)
+                .getResultList();
+        return linhas.stream()
+                .map(linha -> new ResumoMensal(idUsuario, ((Number) linha[0]).intValue(), ((Number) linha[1]).intValue(),
+                                               TipoLancamento.valueOf((String) linha[2]),
+                                               StatusLancamento.valueOf((String) linha[3]),
+                                               Money.of((BigDecimal) linha[4]), ((Number) linha[5]).longValue()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,13 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuarioId;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, SaldoUsuarioId>, SaldoUsuarioRepositoryCustom {
+
+    List<SaldoUsuario> findByIdUsuario(Long idUsuario);
+}
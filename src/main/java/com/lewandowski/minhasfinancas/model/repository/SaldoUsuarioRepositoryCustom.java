@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+public interface SaldoUsuarioRepositoryCustom {
+
+    void somarValor(Long idUsuario, TipoLancamento tipo, Money valor);
+
+    List<SaldoUsuario> travarPorUsuario(Long idUsuario);
+}
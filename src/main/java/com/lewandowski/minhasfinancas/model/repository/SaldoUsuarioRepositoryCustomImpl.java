@@ -0,0 +1,72 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+public class SaldoUsuarioRepositoryCustomImpl implements SaldoUsuarioRepositoryCustom {
+
+    private static final String ESPACO = "financas.saldo_usuario";
+
+    private static final String SOMAR_POSTGRES = " INSERT INTO financas.saldo_usuario (id_usuario, tipo, valor) "
+            + " VALUES (:idUsuario, :tipo, :valor) "
+            + " ON CONFLICT (id_usuario, tipo) DO UPDATE SET valor = financas.saldo_usuario.valor + EXCLUDED.valor";
+
+    private static final String SOMAR_H2 = " MERGE INTO financas.saldo_usuario s "
+            + " USING (SELECT CAST(:idUsuario AS BIGINT) AS id_usuario, CAST(:tipo AS VARCHAR(20)) AS tipo, "
+            + "        CAST(:valor AS NUMERIC(16, 2)) AS valor) n "
+            + " ON s.id_usuario = n.id_usuario AND s.tipo = n.tipo "
+            + " WHEN MATCHED THEN UPDATE SET valor = s.valor + n.valor "
+            + " WHEN NOT MATCHED THEN INSERT (id_usuario, tipo, valor) VALUES (n.id_usuario, n.tipo, n.valor)";
+
+    private static final String SALDOS_DO_USUARIO = " SELECT tipo, valor FROM financas.saldo_usuario "
+            + " WHERE id_usuario = :idUsuario";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Incremento numa única instrução: a linha é criada ou somada sem janela entre UPDATE e INSERT em que
+     * duas transações criariam a mesma chave. O JPQL não faz aritmética sobre atributos convertidos
+     * ({@link Money}), então o valor vai como numeric. A tabela é declarada como espaço da consulta: sem
+     * isso o Hibernate invalidaria todas as regiões do cache de segundo nível.
+     */
+    @Override
+    public void somarValor(Long idUsuario, TipoLancamento tipo, Money valor) {
+        entityManager.createNativeQuery(Dialeto.postgres(entityManager) ? SOMAR_POSTGRES : SOMAR_H2)
+                .setParameter("idUsuario", idUsuario)
+                .setParameter("tipo", tipo.name())
+                .setParameter("valor", valor.toBigDecimal())
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, ESPACO)
+                .executeUpdate();
+    }
+
+    /**
+     * Soma zero em cada tipo do usuário: as linhas passam a existir e ficam travadas até o fim da
+     * transação, inclusive contra quem ainda iria criá-las. Os valores são lidos depois da trava, sem
+     * passar pelo contexto de persistência.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SaldoUsuario> travarPorUsuario(Long idUsuario) {
+        for (TipoLancamento tipo : TipoLancamento.values()) {
+            somarValor(idUsuario, tipo, Money.ZERO);
+        }
+        List<Object[]> linhas = entityManager.createNativeQuery(SALDOS_DO_USUARIO)
+                .setParameter("idUsuario", idUsuario)
+                .getResultList();
+        return linhas.stream()
+                .map(linha -> new SaldoUsuario(idUsuario, TipoLancamento.valueOf((String) linha[0]),
+                                               Money.of((BigDecimal) linha[1])))
+                .collect(Collectors.toList());
+    }
+}
@@ -9,7 +9,7 @@ import org.springframework.data.repository.query.Param;
 
 import com.lewandowski.minhasfinancas.model.entity.Usuario;
 
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
     boolean existsByEmail(String email);
 
     Optional<Usuario> findByEmail(String email);
@@ -0,0 +1,10 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+
+public interface UsuarioRepositoryCustom {
+
+    Optional<Usuario> buscarPorEmail(String email);
+}
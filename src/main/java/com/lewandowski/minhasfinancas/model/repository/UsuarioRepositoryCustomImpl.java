@@ -0,0 +1,32 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Pelo id natural: email -> id sai da região usuario-email e a entidade é lida pela chave primária,
+     * sem passar pelo índice de email. O findByEmail derivado sempre iria ao índice.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Usuario> buscarPorEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Usuario.class)
+                .loadOptional(email);
+    }
+}
@@ -0,0 +1,96 @@
+package com.lewandowski.minhasfinancas.model.valor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Valor monetário em centavos. Soma e subtração usam aritmética de {@code long} com verificação de
+ * overflow ({@link ArithmeticException}), sem alocar um {@link BigDecimal} por operação; a conversão
+ * para {@link BigDecimal} acontece só nas bordas (banco e JSON), sempre com duas casas.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int ESCALA = 2;
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0L ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Arredonda para centavos como o numeric(16, 2) do banco (HALF_UP).
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal valor) {
+        return ofCentavos(valor.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String valor) {
+        return of(new BigDecimal(valor));
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Money plus(Money outro) {
+        return ofCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money minus(Money outro) {
+        return ofCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Money negate() {
+        return ofCentavos(Math.negateExact(centavos));
+    }
+
+    public Money times(long fator) {
+        return ofCentavos(Math.multiplyExact(centavos, fator));
+    }
+
+    public boolean isPositive() {
+        return centavos > 0L;
+    }
+
+    public boolean isZero() {
+        return centavos == 0L;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object objeto) {
+        return objeto instanceof Money && ((Money) objeto).centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
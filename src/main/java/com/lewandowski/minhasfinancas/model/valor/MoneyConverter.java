@@ -0,0 +1,20 @@
+package com.lewandowski.minhasfinancas.model.valor;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal valor) {
+        return valor == null ? null : Money.of(valor);
+    }
+}
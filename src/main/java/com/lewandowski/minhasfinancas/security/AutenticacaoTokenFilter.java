@@ -0,0 +1,64 @@
+package com.lewandowski.minhasfinancas.security;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.lewandowski.minhasfinancas.service.TokenService;
+
+/**
+ * Exige token em toda rota de /api/, menos no cadastro (POST /api/usuarios) e na autenticação. Sem token,
+ * ou com outro esquema que não Bearer, a resposta é 401 antes de chegar ao controller.
+ */
+@Component
+public class AutenticacaoTokenFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+    private static final String API = "/api/";
+
+    private final TokenService tokenService;
+
+    public AutenticacaoTokenFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        if (!exigeToken(request.getMethod(), caminho)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+        Optional<UsuarioAutenticado> usuario = autorizacao == null || !autorizacao.startsWith(PREFIXO)
+                ? Optional.empty()
+                : tokenService.validar(autorizacao.substring(PREFIXO.length()).trim());
+        if (!usuario.isPresent()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write(autorizacao == null ? "Token não informado" : "Token inválido ou expirado");
+            return;
+        }
+        request.setAttribute(UsuarioAutenticado.ATRIBUTO, usuario.get());
+        chain.doFilter(request, response);
+    }
+
+    private static boolean exigeToken(String metodo, String caminho) {
+        if (!caminho.startsWith(API) || "OPTIONS".equals(metodo)) {
+            return false;
+        }
+        boolean cadastro = "POST".equals(metodo) && ("/api/usuarios".equals(caminho) || "/api/usuarios/".equals(caminho));
+        return !cadastro && !"/api/usuarios/autenticar".equals(caminho);
+    }
+}
@@ -0,0 +1,30 @@
+package com.lewandowski.minhasfinancas.security;
+
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UsuarioAutenticado {
+
+    public static final String ATRIBUTO = "usuarioAutenticado";
+
+    private Long id;
+    private String nome;
+    private String email;
+
+    public boolean podeAcessar(Long idUsuario) {
+        return idUsuario == null || id.equals(idUsuario);
+    }
+
+    // para registros já gravados: registro sem usuário não pertence a ninguém
+    public boolean ehDono(Usuario dono) {
+        return dono != null && id.equals(dono.getId());
+    }
+
+    public Usuario toUsuario() {
+        return Usuario.builder().id(id).nome(nome).email(email).build();
+    }
+}
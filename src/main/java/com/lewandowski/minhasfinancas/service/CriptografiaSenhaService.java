@@ -0,0 +1,13 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface CriptografiaSenhaService {
+
+    CompletableFuture<String> codificar(String senha);
+
+    CompletableFuture<Boolean> verificar(String senha, String senhaCodificada);
+
+    boolean precisaRecodificar(String senhaCodificada);
+
+}
@@ -0,0 +1,19 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.lewandowski.minhasfinancas.dto.MudancasLancamentoDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoEventoLancamento;
+
+public interface EventoLancamentoService {
+
+    void registrar(Lancamento lancamento, TipoEventoLancamento tipo);
+    void registrarLote(List<Lancamento> lancamentos, TipoEventoLancamento tipo);
+    int publicarPendentes();
+    MudancasLancamentoDTO buscarDesde(Long idUsuario, Long sequencia, Integer limite);
+    CompletableFuture<MudancasLancamentoDTO> aguardarDesde(Long idUsuario, Long sequencia, Integer limite);
+    int expurgarPublicados();
+
+}
@@ -0,0 +1,14 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.io.Reader;
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.dto.LancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.RelatorioImportacaoDTO;
+
+public interface ImportacaoLancamentoService {
+
+    RelatorioImportacaoDTO importar(Long idUsuario, List<LancamentoDTO> linhas);
+    RelatorioImportacaoDTO importarCsv(Long idUsuario, Reader csv);
+
+}
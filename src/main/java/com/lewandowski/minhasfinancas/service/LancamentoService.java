@@ -1,21 +1,33 @@
 package com.lewandowski.minhasfinancas.service;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
+import com.lewandowski.minhasfinancas.dto.PaginaLancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.ResultadoStatusLoteDTO;
 
 import com.lewandowski.minhasfinancas.model.entity.Lancamento;
 import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
 
 public interface LancamentoService {
     
     Lancamento salvar(Lancamento lancamento);
+    void salvarLote(List<Lancamento> lancamentos);
     Lancamento atualizar(Lancamento lancamento);
     void deletar(Lancamento lancamento);
-    List<Lancamento> buscar(Lancamento filtro);
-    void atualizarStatus(Lancamento lancamento, StatusLancamento status);
+    List<LancamentoConsultaDTO> buscar(Lancamento filtro);
+    List<Lancamento> buscarPorDescricao(Lancamento filtro, Integer limite);
+    PaginaLancamentoDTO buscarPagina(Lancamento filtro, String cursor, Integer limite);
+    void percorrer(Lancamento filtro, Consumer<Lancamento> consumidor);
+    Lancamento atualizarStatus(Lancamento lancamento, StatusLancamento status);
+    ResultadoStatusLoteDTO atualizarStatusEmLote(Lancamento filtro, List<Long> ids, StatusLancamento statusAtual,
+                                                 StatusLancamento novoStatus);
     void validar(Lancamento lancamento);
-    Optional<Lancamento> obterPorId(Long id);
-    BigDecimal obterSaldoPorUsuario(Long id);
+    Optional<LancamentoConsultaDTO> obterPorId(Long id);
+    Optional<Lancamento> obterParaAlteracao(Long id);
+    Money obterSaldoPorUsuario(Long id);
 
 }
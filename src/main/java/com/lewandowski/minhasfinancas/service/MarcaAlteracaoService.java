@@ -0,0 +1,13 @@
+package com.lewandowski.minhasfinancas.service;
+
+import com.lewandowski.minhasfinancas.dto.MarcaAlteracao;
+
+public interface MarcaAlteracaoService {
+
+    MarcaAlteracao obter(Long idUsuario);
+
+    void avancar(Long idUsuario);
+
+    void avancarTodos();
+
+}
@@ -0,0 +1,9 @@
+package com.lewandowski.minhasfinancas.service;
+
+public interface ParticaoLancamentoService {
+
+    void criarParticoesFuturas();
+
+    void arquivar(Integer ano);
+
+}
@@ -0,0 +1,15 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.dto.EventoLancamentoDTO;
+
+public interface PublicacaoEventoService {
+
+    /**
+     * Recebe o lote em ordem de sequencia. Uma implementação sobre broker deve usar idUsuario como
+     * chave de partição para manter a ordem por usuário; uma exceção faz o lote ser reenviado.
+     */
+    void publicar(List<EventoLancamentoDTO> eventos);
+
+}
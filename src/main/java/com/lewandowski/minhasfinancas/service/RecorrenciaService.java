@@ -0,0 +1,17 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.lewandowski.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaService {
+
+    Recorrencia salvar(Recorrencia recorrencia);
+    Recorrencia encerrar(Recorrencia recorrencia);
+    Optional<Recorrencia> obterPorId(Long id);
+    List<Recorrencia> buscarPorUsuario(Long idUsuario);
+    int materializarVencidas(int competencia);
+    void validar(Recorrencia recorrencia);
+
+}
@@ -0,0 +1,19 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaResumoDTO;
+import com.lewandowski.minhasfinancas.dto.ResumoAnualDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+
+public interface ResumoMensalService {
+
+    void registrarInclusao(Lancamento lancamento);
+    void registrarInclusoes(List<Lancamento> lancamentos);
+    void registrarExclusao(Lancamento lancamento);
+    void registrarAlteracaoStatus(List<Lancamento> lancamentos, StatusLancamento statusAnterior);
+    ResumoAnualDTO obterResumoAnual(Long idUsuario, Integer ano);
+    List<DivergenciaResumoDTO> reconciliar();
+
+}
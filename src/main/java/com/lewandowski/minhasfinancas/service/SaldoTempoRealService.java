@@ -0,0 +1,9 @@
+package com.lewandowski.minhasfinancas.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface SaldoTempoRealService {
+
+    SseEmitter assinar(Long idUsuario);
+
+}
@@ -0,0 +1,17 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.util.List;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaSaldoDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+public interface SaldoUsuarioService {
+
+    void registrarInclusao(Lancamento lancamento);
+    void registrarInclusoes(List<Lancamento> lancamentos);
+    void registrarExclusao(Lancamento lancamento);
+    Money obterSaldo(Long idUsuario);
+    List<DivergenciaSaldoDTO> reconciliar();
+
+}
@@ -0,0 +1,15 @@
+package com.lewandowski.minhasfinancas.service;
+
+import java.util.Optional;
+
+import com.lewandowski.minhasfinancas.dto.TokenDTO;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
+
+public interface TokenService {
+
+    TokenDTO emitir(Usuario usuario);
+
+    Optional<UsuarioAutenticado> validar(String token);
+
+}
@@ -2,11 +2,12 @@ package com.lewandowski.minhasfinancas.service;
 
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.lewandowski.minhasfinancas.model.entity.Usuario;
 
 public interface UsuarioService {
-    Usuario autenticar(String email, String senha);
+    CompletableFuture<Usuario> autenticar(String email, String senha);
 
     Usuario salvarUsuario(Usuario usuario);
 
@@ -0,0 +1,109 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.lewandowski.minhasfinancas.exception.ServicoIndisponivelException;
+import com.lewandowski.minhasfinancas.service.CriptografiaSenhaService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class CriptografiaSenhaServiceImpl implements CriptografiaSenhaService {
+
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2(a|y|b)?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int custo;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer tempoCodificacao;
+    private final Timer tempoVerificacao;
+    private final Counter rejeicoes;
+
+    public CriptografiaSenhaServiceImpl(@Value("${financas.senha.custo:10}") int custo,
+                                        @Value("${financas.senha.threads:2}") int threads,
+                                        @Value("${financas.senha.fila:100}") int fila,
+                                        MeterRegistry registry) {
+        this.custo = custo;
+        this.encoder = new BCryptPasswordEncoder(custo);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoCodificacao = Timer.builder("financas.senha.hash").tag("operacao", "codificar")
+                .publishPercentiles(0.5, 0.99).register(registry);
+        this.tempoVerificacao = Timer.builder("financas.senha.hash").tag("operacao", "verificar")
+                .publishPercentiles(0.5, 0.99).register(registry);
+        this.rejeicoes = Counter.builder("financas.senha.rejeicoes").register(registry);
+        Gauge.builder("financas.senha.fila", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("financas.senha.ativas", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    @Override
+    public CompletableFuture<String> codificar(String senha) {
+        return executar(tempoCodificacao, () -> encoder.encode(senha));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verificar(String senha, String senhaCodificada) {
+        if (senha == null || senhaCodificada == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!BCRYPT.matcher(senhaCodificada).matches()) {
+            return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                    senha.getBytes(StandardCharsets.UTF_8), senhaCodificada.getBytes(StandardCharsets.UTF_8)));
+        }
+        return executar(tempoVerificacao, () -> encoder.matches(senha, senhaCodificada));
+    }
+
+    @Override
+    public boolean precisaRecodificar(String senhaCodificada) {
+        if (senhaCodificada == null) {
+            return true;
+        }
+        Matcher matcher = BCRYPT.matcher(senhaCodificada);
+        return !matcher.matches() || Integer.parseInt(matcher.group(2)) != custo;
+    }
+
+    private <T> CompletableFuture<T> executar(Timer timer, Supplier<T> operacao) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(operacao), executor);
+        } catch (RejectedExecutionException e) {
+            rejeicoes.increment();
+            CompletableFuture<T> recusado = new CompletableFuture<>();
+            recusado.completeExceptionally(new ServicoIndisponivelException(
+                    "Serviço de autenticação sobrecarregado, tente novamente em instantes"));
+            return recusado;
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
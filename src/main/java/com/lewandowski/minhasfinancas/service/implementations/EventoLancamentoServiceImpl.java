@@ -0,0 +1,238 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lewandowski.minhasfinancas.dto.EventoLancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.LancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.MudancasLancamentoDTO;
+import com.lewandowski.minhasfinancas.event.LancamentosPublicadosEvent;
+import com.lewandowski.minhasfinancas.model.entity.EventoLancamento;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.lewandowski.minhasfinancas.service.EventoLancamentoService;
+import com.lewandowski.minhasfinancas.service.PublicacaoEventoService;
+
+@Service
+public class EventoLancamentoServiceImpl implements EventoLancamentoService {
+
+    private static final int LIMITE_PADRAO = 100;
+    private static final int LIMITE_MAXIMO = 1000;
+
+    private final EventoLancamentoRepository repository;
+    private final PublicacaoEventoService publicacao;
+    private final ApplicationEventPublisher eventos;
+    private final ObjectMapper mapper;
+
+    // long-poll pendentes por usuário, acordados quando um lote do usuário é publicado neste nó
+    private final ConcurrentMap<Long, Set<Aguardando>> aguardando = new ConcurrentHashMap<>();
+
+    @Value("${financas.eventos.relay.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${financas.eventos.retencao-dias:7}")
+    private int retencaoDias;
+
+    public EventoLancamentoServiceImpl(EventoLancamentoRepository repository, PublicacaoEventoService publicacao,
+                                    ApplicationEventPublisher eventos, ObjectMapper mapper) {
+        this.repository = repository;
+        this.publicacao = publicacao;
+        this.eventos = eventos;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Exige a transação da alteração: o evento só existe se a alteração for confirmada.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Lancamento lancamento, TipoEventoLancamento tipo) {
+        repository.save(criarEvento(lancamento, tipo, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarLote(List<Lancamento> lancamentos, TipoEventoLancamento tipo) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoLancamento> lote = new ArrayList<>(lancamentos.size());
+        for (Lancamento lancamento : lancamentos) {
+            lote.add(criarEvento(lancamento, tipo, agora));
+        }
+        repository.saveAll(lote);
+    }
+
+    /**
+     * Publica o próximo lote pendente por id. A trava na linha do relay serializa os nós, então a sequencia
+     * cresce na ordem de publicação e o feed por since nunca pula eventos. Essa é a única ordem garantida:
+     * o id vem de blocos de 50 por nó e não segue a ordem dos commits, e duas alterações do mesmo usuário
+     * confirmadas em nós diferentes, com pouco tempo entre elas, podem sair trocadas. O evento avisa que o
+     * lançamento mudou; o estado atual é o de GET /api/lancamentos/{id}.
+     * A publicação acontece antes do commit: se ele falhar o lote é reenviado (entrega pelo menos uma vez).
+     */
+    @Override
+    @Transactional
+    public int publicarPendentes() {
+        long ultimaSequencia = repository.travarUltimaSequencia();
+        List<EventoLancamento> pendentes = repository.findBySequenciaIsNullOrderByIdAsc(PageRequest.of(0, tamanhoLote));
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoLancamentoDTO> publicados = new ArrayList<>(pendentes.size());
+        for (EventoLancamento evento : pendentes) {
+            evento.setSequencia(++ultimaSequencia);
+            evento.setPublicadoEm(agora);
+            publicados.add(converter(evento));
+        }
+        repository.registrarUltimaSequencia(ultimaSequencia);
+
+        publicacao.publicar(publicados);
+        eventos.publishEvent(new LancamentosPublicadosEvent(publicados));
+        return publicados.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MudancasLancamentoDTO buscarDesde(Long idUsuario, Long sequencia, Integer limite) {
+        long desde = sequencia == null ? 0L : sequencia;
+        List<EventoLancamentoDTO> encontrados = repository
+                .findByIdUsuarioAndSequenciaGreaterThanOrderBySequenciaAsc(idUsuario, desde, PageRequest.of(0, tamanho(limite)))
+                .stream()
+                .map(this::converter)
+                .collect(Collectors.toList());
+        return mudancas(encontrados, desde);
+    }
+
+    /**
+     * Responde na hora se já há eventos depois de since; senão o futuro é completado quando um lote do
+     * usuário for publicado neste nó. Quem chama decide o tempo máximo de espera e cancela o futuro.
+     */
+    @Override
+    public CompletableFuture<MudancasLancamentoDTO> aguardarDesde(Long idUsuario, Long sequencia, Integer limite) {
+        Aguardando espera = new Aguardando(sequencia == null ? 0L : sequencia, tamanho(limite));
+        // registra antes de consultar: um lote confirmado entre os dois passos não se perde
+        aguardando.compute(idUsuario, (id, doUsuario) -> {
+            Set<Aguardando> registrados = doUsuario == null ? ConcurrentHashMap.newKeySet() : doUsuario;
+            registrados.add(espera);
+            return registrados;
+        });
+        espera.resultado.whenComplete((resultado, erro) -> aguardando.computeIfPresent(idUsuario, (id, doUsuario) -> {
+            doUsuario.remove(espera);
+            return doUsuario.isEmpty() ? null : doUsuario;
+        }));
+
+        MudancasLancamentoDTO atuais = buscarDesde(idUsuario, espera.desde, espera.limite);
+        if (!atuais.getEventos().isEmpty()) {
+            espera.resultado.complete(atuais);
+        }
+        return espera.resultado;
+    }
+
+    @TransactionalEventListener
+    public void notificarAguardando(LancamentosPublicadosEvent publicados) {
+        Map<Long, List<EventoLancamentoDTO>> porUsuario = publicados.getEventos().stream()
+                .collect(Collectors.groupingBy(EventoLancamentoDTO::getIdUsuario));
+        porUsuario.forEach((idUsuario, doUsuario) -> {
+            Set<Aguardando> registrados = aguardando.get(idUsuario);
+            if (registrados != null) {
+                registrados.forEach(espera -> espera.entregar(doUsuario));
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public int expurgarPublicados() {
+        return repository.expurgarPublicadosAntesDe(LocalDateTime.now().minusDays(retencaoDias));
+    }
+
+    private EventoLancamento criarEvento(Lancamento lancamento, TipoEventoLancamento tipo, LocalDateTime agora) {
+        return EventoLancamento.builder()
+                .idLancamento(lancamento.getId())
+                .idUsuario(lancamento.getIdUsuario().getId())
+                .tipo(tipo)
+                .payload(serializar(lancamento))
+                .dataCriacao(agora)
+                .build();
+    }
+
+    private String serializar(Lancamento lancamento) {
+        LancamentoDTO dto = LancamentoDTO.builder()
+                .id(lancamento.getId())
+                .descricao(lancamento.getDescricao())
+                .mes(lancamento.getMes())
+                .ano(lancamento.getAno())
+                .valor(lancamento.getValor())
+                .idUsuario(lancamento.getIdUsuario().getId())
+                .tipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name())
+                .status(lancamento.getStatus() == null ? null : lancamento.getStatus().name())
+                .build();
+        try {
+            return mapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private EventoLancamentoDTO converter(EventoLancamento evento) {
+        return EventoLancamentoDTO.builder()
+                .id(evento.getId())
+                .sequencia(evento.getSequencia())
+                .tipo(evento.getTipo().name())
+                .idLancamento(evento.getIdLancamento())
+                .idUsuario(evento.getIdUsuario())
+                .dataCriacao(evento.getDataCriacao())
+                .lancamento(evento.getPayload())
+                .build();
+    }
+
+    private static MudancasLancamentoDTO mudancas(List<EventoLancamentoDTO> eventos, long desde) {
+        long proxima = eventos.isEmpty() ? desde : eventos.get(eventos.size() - 1).getSequencia();
+        return new MudancasLancamentoDTO(eventos, proxima);
+    }
+
+    private static int tamanho(Integer limite) {
+        return limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    private static final class Aguardando {
+        private final long desde;
+        private final int limite;
+        private final CompletableFuture<MudancasLancamentoDTO> resultado = new CompletableFuture<>();
+
+        private Aguardando(long desde, int limite) {
+            this.desde = desde;
+            this.limite = limite;
+        }
+
+        private void entregar(List<EventoLancamentoDTO> publicados) {
+            List<EventoLancamentoDTO> novos = publicados.stream()
+                    .filter(evento -> evento.getSequencia() > desde)
+                    .limit(limite)
+                    .collect(Collectors.toList());
+            if (!novos.isEmpty()) {
+                resultado.complete(mudancas(novos, desde));
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.lewandowski.minhasfinancas.dto.ErroImportacaoDTO;
+import com.lewandowski.minhasfinancas.dto.LancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.RelatorioImportacaoDTO;
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.ImportacaoLancamentoService;
+import com.lewandowski.minhasfinancas.service.LancamentoService;
+import com.lewandowski.minhasfinancas.service.UsuarioService;
+
+@Service
+public class ImportacaoLancamentoServiceImpl implements ImportacaoLancamentoService {
+
+    private static final String SEPARADOR_CSV = ";";
+    private static final int COLUNAS_CSV = 5;
+
+    private final LancamentoService lancamentoService;
+    private final UsuarioService usuarioService;
+    private final int tamanhoLote;
+
+    public ImportacaoLancamentoServiceImpl(LancamentoService lancamentoService, UsuarioService usuarioService,
+                                        @Value("${financas.lancamentos.tamanho-lote:500}") int tamanhoLote) {
+        this.lancamentoService = lancamentoService;
+        this.usuarioService = usuarioService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public RelatorioImportacaoDTO importar(Long idUsuario, List<LancamentoDTO> linhas) {
+        Usuario usuario = obterUsuario(idUsuario);
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+
+        int linha = 0;
+        for (LancamentoDTO dto : linhas) {
+            adicionar(++linha, dto, usuario, lote, relatorio);
+            if (lote.size() == tamanhoLote) {
+                gravar(lote, relatorio);
+            }
+        }
+        gravar(lote, relatorio);
+        return relatorio;
+    }
+
+    @Override
+    public RelatorioImportacaoDTO importarCsv(Long idUsuario, Reader csv) {
+        Usuario usuario = obterUsuario(idUsuario);
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+
+        try {
+            BufferedReader leitor = new BufferedReader(csv);
+            int linha = 1;
+            leitor.readLine();
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                linha++;
+                if (texto.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    adicionar(linha, lerLinhaCsv(texto), usuario, lote, relatorio);
+                } catch (RegraNegocioException e) {
+                    relatorio.setTotalLinhas(relatorio.getTotalLinhas() + 1);
+                    relatorio.getErros().add(new ErroImportacaoDTO(linha, e.getMessage()));
+                }
+                if (lote.size() == tamanhoLote) {
+                    gravar(lote, relatorio);
+                }
+            }
+        } catch (IOException e) {
+            throw new RegraNegocioException("Não foi possível ler o arquivo de importação");
+        }
+        gravar(lote, relatorio);
+        return relatorio;
+    }
+
+    private Usuario obterUsuario(Long idUsuario) {
+        return usuarioService
+                .obterPorId(idUsuario)
+                .orElseThrow( () -> new RegraNegocioException("Usuario não encontrado para o Id informado."));
+    }
+
+    private LancamentoDTO lerLinhaCsv(String texto) {
+        String[] campos = texto.split(SEPARADOR_CSV, -1);
+        if (campos.length != COLUNAS_CSV) {
+            throw new RegraNegocioException("Informe " + COLUNAS_CSV + " colunas: descricao;mes;ano;valor;tipo");
+        }
+        try {
+            return LancamentoDTO.builder()
+                    .descricao(campos[0].trim())
+                    .mes(Integer.valueOf(campos[1].trim()))
+                    .ano(Integer.valueOf(campos[2].trim()))
+                    .valor(lerValor(campos[3].trim()))
+                    .tipo(campos[4].trim().toUpperCase())
+                    .build();
+        } catch (NumberFormatException e) {
+            throw new RegraNegocioException("Informe valores numéricos válidos para mês, ano e valor");
+        }
+    }
+
+    private Money lerValor(String valor) {
+        if (valor.contains(",")) {
+            return Money.of(valor.replace(".", "").replace(',', '.'));
+        }
+        return Money.of(valor);
+    }
+
+    private void adicionar(int linha, LancamentoDTO dto, Usuario usuario, List<Lancamento> lote,
+                        RelatorioImportacaoDTO relatorio) {
+        relatorio.setTotalLinhas(relatorio.getTotalLinhas() + 1);
+        try {
+            Lancamento lancamento = converter(dto, usuario);
+            lancamentoService.validar(lancamento);
+            lote.add(lancamento);
+        } catch (RegraNegocioException e) {
+            relatorio.getErros().add(new ErroImportacaoDTO(linha, e.getMessage()));
+        }
+    }
+
+    private void gravar(List<Lancamento> lote, RelatorioImportacaoDTO relatorio) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        lancamentoService.salvarLote(new ArrayList<>(lote));
+        relatorio.setImportadas(relatorio.getImportadas() + lote.size());
+        lote.clear();
+    }
+
+    private Lancamento converter(LancamentoDTO dto, Usuario usuario) {
+        Lancamento lancamento = new Lancamento();
+        lancamento.setDescricao(dto.getDescricao());
+        lancamento.setAno(dto.getAno());
+        lancamento.setMes(dto.getMes());
+        lancamento.setValor(dto.getValor());
+        lancamento.setIdUsuario(usuario);
+        if (dto.getTipo() != null) {
+            try {
+                lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+            } catch (IllegalArgumentException e) {
+                throw new RegraNegocioException("Informe um tipo de lançamento");
+            }
+        }
+        return lancamento;
+    }
+}
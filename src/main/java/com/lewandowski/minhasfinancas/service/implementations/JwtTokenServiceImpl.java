@@ -0,0 +1,112 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lewandowski.minhasfinancas.dto.TokenDTO;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
+import com.lewandowski.minhasfinancas.service.TokenService;
+
+@Service
+public class JwtTokenServiceImpl implements TokenService {
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final String CABECALHO = "{\"alg\":\"HS256\",\"typ\":\"JWT\"}";
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
+    private final SecretKeySpec chave;
+    private final long expiracaoSegundos;
+    private final ObjectMapper mapper;
+    private final Clock relogio;
+    private final String cabecalhoCodificado;
+
+    public JwtTokenServiceImpl(@Value("${financas.token.segredo}") String segredo,
+                            @Value("${financas.token.expiracao-minutos:30}") long expiracaoMinutos,
+                            ObjectMapper mapper) {
+        if (segredo == null || segredo.isBlank()) {
+            throw new IllegalStateException("financas.token.segredo não configurado: defina FINANCAS_TOKEN_SEGREDO");
+        }
+        byte[] bytesSegredo = segredo.getBytes(StandardCharsets.UTF_8);
+        if (bytesSegredo.length < TAMANHO_MINIMO_SEGREDO) {
+            throw new IllegalStateException("financas.token.segredo deve ter ao menos " + TAMANHO_MINIMO_SEGREDO + " bytes");
+        }
+        this.chave = new SecretKeySpec(bytesSegredo, ALGORITMO);
+        this.expiracaoSegundos = expiracaoMinutos * 60;
+        this.mapper = mapper;
+        this.relogio = Clock.systemUTC();
+        this.cabecalhoCodificado = codificar(CABECALHO.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public TokenDTO emitir(Usuario usuario) {
+        long agora = relogio.instant().getEpochSecond();
+        long expiraEm = agora + expiracaoSegundos;
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", String.valueOf(usuario.getId()));
+        claims.put("nome", usuario.getNome());
+        claims.put("email", usuario.getEmail());
+        claims.put("iat", agora);
+        claims.put("exp", expiraEm);
+
+        try {
+            String conteudo = cabecalhoCodificado + "." + codificar(mapper.writeValueAsBytes(claims));
+            String token = conteudo + "." + codificar(assinar(conteudo));
+            return new TokenDTO(token, "Bearer", expiraEm, usuario.getId(), usuario.getNome());
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível emitir o token", e);
+        }
+    }
+
+    @Override
+    public Optional<UsuarioAutenticado> validar(String token) {
+        String[] partes = token.split("\\.");
+        if (partes.length != 3 || !cabecalhoCodificado.equals(partes[0])) {
+            return Optional.empty();
+        }
+        try {
+            byte[] assinaturaEsperada = assinar(partes[0] + "." + partes[1]);
+            if (!MessageDigest.isEqual(assinaturaEsperada, Base64.getUrlDecoder().decode(partes[2]))) {
+                return Optional.empty();
+            }
+            JsonNode claims = mapper.readTree(Base64.getUrlDecoder().decode(partes[1]));
+            if (claims.path("exp").asLong() <= relogio.instant().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new UsuarioAutenticado(Long.valueOf(claims.path("sub").asText()),
+                    claims.path("nome").asText(null), claims.path("email").asText(null)));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] assinar(String conteudo) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível assinar o token", e);
+        }
+    }
+
+    private static String codificar(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -1,30 +1,77 @@
 package com.lewandowski.minhasfinancas.service.implementations;
 
-import java.math.BigDecimal;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.lewandowski.minhasfinancas.dto.CursorLancamento;
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
+import com.lewandowski.minhasfinancas.dto.PaginaLancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.ResultadoStatusLoteDTO;
+import com.lewandowski.minhasfinancas.event.LancamentoAlteradoEvent;
 import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
 import com.lewandowski.minhasfinancas.model.entity.Lancamento;
 import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
-import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.BuscaDescricaoRepository;
 import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.EventoLancamentoService;
 import com.lewandowski.minhasfinancas.service.LancamentoService;
+import com.lewandowski.minhasfinancas.service.ResumoMensalService;
+import com.lewandowski.minhasfinancas.service.SaldoUsuarioService;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 50;
+    private static final int TAMANHO_PAGINA_MAXIMO = 500;
+    private static final int TAMANHO_MINIMO_TERMO = 3;
+
     private LancamentoRepository repository;
+    private BuscaDescricaoRepository buscaDescricao;
+    private SaldoUsuarioService saldo;
+    private ResumoMensalService resumo;
+    private EventoLancamentoService eventos;
+    private ApplicationEventPublisher publicador;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${financas.lancamentos.tamanho-lote:500}")
+    private int tamanhoLote;
 
-    public LancamentoServiceImpl(LancamentoRepository repository) {
+    public LancamentoServiceImpl(LancamentoRepository repository, BuscaDescricaoRepository buscaDescricao,
+                                SaldoUsuarioService saldo, ResumoMensalService resumo,
+                                EventoLancamentoService eventos, ApplicationEventPublisher publicador) {
         this.repository = repository;
+        this.buscaDescricao = buscaDescricao;
+        this.saldo = saldo;
+        this.resumo = resumo;
+        this.eventos = eventos;
+        this.publicador = publicador;
     }
 
     @Override
@@ -32,38 +79,235 @@ public class LancamentoServiceImpl implements LancamentoService {
     public Lancamento salvar(Lancamento lancamento) {
         validar(lancamento);
         lancamento.setStatus(StatusLancamento.PENDENTE);
-        return repository.save(lancamento);
+        Lancamento salvo = repository.save(lancamento);
+        registrarInclusao(salvo);
+        eventos.registrar(salvo, TipoEventoLancamento.CRIADO);
+        marcarAlteracao(idUsuario(salvo));
+        return salvo;
     }
 
     @Override
     @Transactional
+    public void salvarLote(List<Lancamento> lancamentos) {
+        int pendentesNoLote = 0;
+        for (Lancamento lancamento : lancamentos) {
+            validar(lancamento);
+            lancamento.setStatus(StatusLancamento.PENDENTE);
+            entityManager.persist(lancamento);
+            if (++pendentesNoLote == tamanhoLote) {
+                entityManager.flush();
+                entityManager.clear();
+                pendentesNoLote = 0;
+            }
+        }
+        saldo.registrarInclusoes(lancamentos);
+        resumo.registrarInclusoes(lancamentos);
+        eventos.registrarLote(lancamentos, TipoEventoLancamento.CRIADO);
+        lancamentos.stream().map(LancamentoServiceImpl::idUsuario).distinct().forEach(this::marcarAlteracao);
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "lancamentos", key = "#lancamento.id", condition = "#lancamento.id != null",
+                    beforeInvocation = true),
+        @CacheEvict(cacheNames = "lancamentos", key = "#lancamento.id", condition = "#lancamento.id != null")
+    })
     public Lancamento atualizar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
         validar(lancamento);
-        return repository.save(lancamento);
+        Optional<Lancamento> anterior = repository.findById(lancamento.getId());
+        anterior.ifPresent(existente -> verificarVersao(existente, lancamento));
+        // o DTO da API não traz a origem: a ocorrência de uma recorrência continua ligada a ela
+        anterior.ifPresent(existente -> lancamento.setIdRecorrencia(existente.getIdRecorrencia()));
+        // calculado antes do save: o merge copia o novo estado para a instância gerenciada
+        TipoEventoLancamento tipoEvento = anterior.filter(existente -> somenteStatusAlterado(existente, lancamento))
+                                                .map(existente -> TipoEventoLancamento.STATUS_ALTERADO)
+                                                .orElse(TipoEventoLancamento.ATUALIZADO);
+        anterior.ifPresent(this::registrarExclusao);
+        Lancamento atualizado = repository.save(lancamento);
+        registrarInclusao(atualizado);
+        eventos.registrar(atualizado, tipoEvento);
+        // lançamento movido de usuário altera os dois
+        anterior.map(LancamentoServiceImpl::idUsuario).ifPresent(this::marcarAlteracao);
+        marcarAlteracao(idUsuario(atualizado));
+        return atualizado;
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "lancamentos", key = "#lancamento.id", condition = "#lancamento.id != null",
+                    beforeInvocation = true),
+        @CacheEvict(cacheNames = "lancamentos", key = "#lancamento.id", condition = "#lancamento.id != null")
+    })
     public void deletar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
+        repository.findById(lancamento.getId()).ifPresent(this::registrarExclusao);
         repository.delete(lancamento);
+        eventos.registrar(lancamento, TipoEventoLancamento.EXCLUIDO);
+        marcarAlteracao(idUsuario(lancamento));
+    }
+
+    private void registrarInclusao(Lancamento lancamento) {
+        saldo.registrarInclusao(lancamento);
+        resumo.registrarInclusao(lancamento);
+    }
+
+    private void registrarExclusao(Lancamento lancamento) {
+        saldo.registrarExclusao(lancamento);
+        resumo.registrarExclusao(lancamento);
+    }
+
+    // a marca do usuário avança na mesma transação, antes do commit (MarcaAlteracaoService)
+    private void marcarAlteracao(Long idUsuario) {
+        if (idUsuario != null) {
+            publicador.publishEvent(new LancamentoAlteradoEvent(idUsuario));
+        }
+    }
+
+    /**
+     * Sem versão informada vale a lida agora, e o "WHERE versao = ?" do UPDATE ainda pega quem gravar
+     * entre a leitura e o commit; com versão diferente da gravada o cliente alterou uma cópia antiga.
+     */
+    private static void verificarVersao(Lancamento existente, Lancamento lancamento) {
+        if (lancamento.getVersao() == null) {
+            lancamento.setVersao(existente.getVersao());
+        } else if (!lancamento.getVersao().equals(existente.getVersao())) {
+            throw new ObjectOptimisticLockingFailureException(Lancamento.class, lancamento.getId());
+        }
+    }
+
+    private static boolean somenteStatusAlterado(Lancamento anterior, Lancamento novo) {
+        return anterior.getStatus() != novo.getStatus()
+                && Objects.equals(anterior.getDescricao(), novo.getDescricao())
+                && Objects.equals(anterior.getMes(), novo.getMes())
+                && Objects.equals(anterior.getAno(), novo.getAno())
+                && Objects.equals(anterior.getValor(), novo.getValor())
+                && anterior.getTipo() == novo.getTipo()
+                && Objects.equals(idUsuario(anterior), idUsuario(novo));
+    }
+
+    private static Long idUsuario(Lancamento lancamento) {
+        return lancamento.getIdUsuario() == null ? null : lancamento.getIdUsuario().getId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoConsultaDTO> buscar(Lancamento filtro) {
+        return repository.buscarConsulta(filtro);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Lancamento> buscarPorDescricao(Lancamento filtro, Integer limite) {
+        if(filtro.getDescricao() == null || filtro.getDescricao().trim().length() < TAMANHO_MINIMO_TERMO) {
+            throw new RegraNegocioException("Informe ao menos " + TAMANHO_MINIMO_TERMO + " caracteres da descrição");
+        }
+        int tamanho = limite == null ? TAMANHO_PAGINA_PADRAO : Math.max(1, Math.min(limite, TAMANHO_PAGINA_MAXIMO));
+        return buscaDescricao.buscarPorDescricao(filtro, tamanho);
     }
 
     @Override
-    public List<Lancamento> buscar(Lancamento filtro) {
-        Example<Lancamento> example = Example.of(filtro,
-                    ExampleMatcher.matching()
-                                .withIgnoreCase()
-                                .withStringMatcher(StringMatcher.CONTAINING));
-        return repository.findAll(example);
+    @Transactional(readOnly = true)
+    public PaginaLancamentoDTO buscarPagina(Lancamento filtro, String cursor, Integer limite) {
+        int tamanho = limite == null ? TAMANHO_PAGINA_PADRAO : Math.max(1, Math.min(limite, TAMANHO_PAGINA_MAXIMO));
+        List<Lancamento> itens = repository.buscarPagina(filtro, CursorLancamento.decodificar(cursor), tamanho + 1);
+
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens = new ArrayList<>(itens.subList(0, tamanho));
+            proximoCursor = CursorLancamento.de(itens.get(tamanho - 1)).codificar();
+        }
+        return new PaginaLancamentoDTO(itens, proximoCursor);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrer(Lancamento filtro, Consumer<Lancamento> consumidor) {
+        try (Stream<Lancamento> lancamentos = repository.buscarStream(filtro)) {
+            lancamentos.forEach(consumidor);
+        }
     }
 
+    // atualizar é chamado por this, sem passar pelo proxy: transação e invalidação declaradas aqui
     @Override
-    public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "lancamentos", key = "#lancamento.id", condition = "#lancamento.id != null",
+                    beforeInvocation = true),
+        @CacheEvict(cacheNames = "lancamentos", key = "#lancamento.id", condition = "#lancamento.id != null")
+    })
+    public Lancamento atualizarStatus(Lancamento lancamento, StatusLancamento status) {
         lancamento.setStatus(status);
-        atualizar(lancamento);
+        return atualizar(lancamento);
+    }
+
+    /**
+     * As linhas em statusAtual são travadas (SELECT ... FOR UPDATE) e a transição sai num UPDATE por bloco
+     * de ids, guardado pelo mesmo status: quem mudou o lançamento antes da trava fica de fora e volta em
+     * conflitos. Saldo não depende do status; resumo mensal e eventos são registrados uma vez para o lote.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = "lancamentos", allEntries = true)
+    public ResultadoStatusLoteDTO atualizarStatusEmLote(Lancamento filtro, List<Long> ids,
+                                                        StatusLancamento statusAtual, StatusLancamento novoStatus) {
+        if (statusAtual == null || novoStatus == null) {
+            throw new RegraNegocioException("Informe o status atual e o novo status");
+        }
+        if (statusAtual == novoStatus) {
+            throw new RegraNegocioException("O novo status deve ser diferente do status atual");
+        }
+        Long idUsuario = idUsuario(filtro);
+        if (idUsuario == null) {
+            throw new RegraNegocioException("Informe um usuário");
+        }
+
+        List<Lancamento> travados = new ArrayList<>();
+        List<Long> pedidos = ids == null ? List.of() : new ArrayList<>(new LinkedHashSet<>(ids));
+        if (pedidos.isEmpty()) {
+            // a transição por período fica no ano corrente quando ele não vem: nunca alcança todos os anos
+            Integer ano = filtro.getAno() == null ? Year.now().getValue() : filtro.getAno();
+            travados.addAll(repository.travarPorPeriodo(idUsuario, statusAtual, ano, filtro.getMes()));
+        } else {
+            for (List<Long> bloco : blocos(pedidos)) {
+                travados.addAll(repository.travarPorIds(idUsuario, statusAtual, bloco));
+            }
+        }
+
+        List<Long> afetados = travados.stream().map(Lancamento::getId).collect(Collectors.toList());
+        // um UPDATE por ano: com a chave de partição no WHERE cada bloco abre uma partição só
+        Map<Integer, List<Long>> afetadosPorAno = travados.stream().collect(Collectors.groupingBy(
+                Lancamento::getAno, TreeMap::new, Collectors.mapping(Lancamento::getId, Collectors.toList())));
+        int quantidade = 0;
+        for (Map.Entry<Integer, List<Long>> doAno : afetadosPorAno.entrySet()) {
+            for (List<Long> bloco : blocos(doAno.getValue())) {
+                quantidade += repository.atualizarStatus(doAno.getKey(), bloco, statusAtual, novoStatus);
+            }
+        }
+        // o UPDATE limpa o contexto de persistência: os travados estão destacados e só alimentam resumo e eventos
+        travados.forEach(lancamento -> {
+            lancamento.setStatus(novoStatus);
+            lancamento.setVersao(lancamento.getVersao() + 1);
+        });
+        if (!travados.isEmpty()) {
+            resumo.registrarAlteracaoStatus(travados, statusAtual);
+            eventos.registrarLote(travados, TipoEventoLancamento.STATUS_ALTERADO);
+            marcarAlteracao(idUsuario);
+        }
+
+        Set<Long> alterados = new HashSet<>(afetados);
+        List<Long> conflitos = pedidos.stream().filter(id -> !alterados.contains(id)).collect(Collectors.toList());
+        return new ResultadoStatusLoteDTO(quantidade, afetados, conflitos);
+    }
+
+    private List<List<Long>> blocos(List<Long> ids) {
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+            blocos.add(ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size())));
+        }
+        return blocos;
     }
 
     @Override
@@ -83,7 +327,7 @@ public class LancamentoServiceImpl implements LancamentoService {
             throw new RegraNegocioException("Informe um usuário");
         }
 
-        if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1) {
+        if(lancamento.getValor() == null || !lancamento.getValor().isPositive()) {
             throw new RegraNegocioException("Informe um valor válido");
         }
 
@@ -93,20 +337,19 @@ public class LancamentoServiceImpl implements LancamentoService {
     }
 
     @Override
-    public BigDecimal obterSaldoPorUsuario(Long id) {
-        BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA);
-        BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA);
-        if(receitas == null) {
-            receitas = BigDecimal.ZERO;
-        }
-        if(despesas == null) {
-            despesas = BigDecimal.ZERO;
-        }
-        return receitas.subtract(despesas);
+    public Money obterSaldoPorUsuario(Long id) {
+        return saldo.obterSaldo(id);
+    }
+
+    @Override
+    @Cacheable(cacheNames = "lancamentos", condition = "#id != null", sync = true)
+    public Optional<LancamentoConsultaDTO> obterPorId(Long id) {
+        return repository.buscarConsultaPorId(id);
     }
 
+    // fora do cache: quem altera precisa da entidade gerenciada, não da projeção compartilhada de obterPorId
     @Override
-    public Optional<Lancamento> obterPorId(Long id) {
+    public Optional<Lancamento> obterParaAlteracao(Long id) {
         return repository.findById(id);
     }
 }
@@ -0,0 +1,56 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lewandowski.minhasfinancas.dto.MarcaAlteracao;
+import com.lewandowski.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.lewandowski.minhasfinancas.model.repository.MarcaAlteracaoUsuarioRepository;
+import com.lewandowski.minhasfinancas.service.MarcaAlteracaoService;
+
+/**
+ * Marcas gravadas em financas.marca_alteracao_usuario. O listener é síncrono e entra na transação de quem
+ * publicou o evento: a marca e os dados ficam visíveis juntos para todos os nós, e quem lê a marca antes de
+ * consultar o banco nunca associa dados novos a uma ETag antiga. Alterações concorrentes do mesmo
+ * usuário se enfileiram na linha da marca, como já faziam na do saldo.
+ */
+@Service
+public class MarcaAlteracaoServiceImpl implements MarcaAlteracaoService {
+
+    private final MarcaAlteracaoUsuarioRepository repository;
+
+    public MarcaAlteracaoServiceImpl(MarcaAlteracaoUsuarioRepository repository) {
+        this.repository = repository;
+    }
+
+    // segundos inteiros: é a precisão do Last-Modified; usuário sem alteração registrada fica na versão 0
+    @Override
+    public MarcaAlteracao obter(Long idUsuario) {
+        return repository.findById(idUsuario)
+                .map(marca -> new MarcaAlteracao(idUsuario, marca.getVersao(),
+                                                 marca.getAlteradoEm().truncatedTo(ChronoUnit.SECONDS)))
+                .orElseGet(() -> new MarcaAlteracao(idUsuario, 0, Instant.EPOCH));
+    }
+
+    @Override
+    @Transactional
+    public void avancar(Long idUsuario) {
+        repository.avancar(idUsuario);
+    }
+
+    @Override
+    @Transactional
+    public void avancarTodos() {
+        repository.avancarTodos();
+    }
+
+    @Transactional
+    @EventListener
+    public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+        repository.avancar(evento.getIdUsuario());
+    }
+}
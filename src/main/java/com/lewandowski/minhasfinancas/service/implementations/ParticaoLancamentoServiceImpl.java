@@ -0,0 +1,102 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.sql.Statement;
+import java.time.Year;
+import java.util.regex.Pattern;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.lewandowski.minhasfinancas.config.CacheSegundoNivelConfig;
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.service.MarcaAlteracaoService;
+import com.lewandowski.minhasfinancas.service.ParticaoLancamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manutenção das partições anuais de financas.lancamento (somente Postgres, ver migração V6).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "financas.lancamentos.particionado", havingValue = "true")
+public class ParticaoLancamentoServiceImpl implements ParticaoLancamentoService {
+
+    private static final Pattern IDENTIFICADOR = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MarcaAlteracaoService marcas;
+    private final int anosAFrente;
+    private final String tablespaceArquivo;
+
+    public ParticaoLancamentoServiceImpl(JdbcTemplate jdbc, EntityManagerFactory entityManagerFactory,
+                                        MarcaAlteracaoService marcas,
+                                        @Value("${financas.lancamentos.particoes.anos-a-frente:2}") int anosAFrente,
+                                        @Value("${financas.lancamentos.arquivo.tablespace:}") String tablespaceArquivo) {
+        if (!tablespaceArquivo.isEmpty() && !IDENTIFICADOR.matcher(tablespaceArquivo).matches()) {
+            throw new IllegalStateException("Tablespace de arquivo inválido: " + tablespaceArquivo);
+        }
+        this.jdbc = jdbc;
+        this.entityManagerFactory = entityManagerFactory;
+        this.marcas = marcas;
+        this.anosAFrente = anosAFrente;
+        this.tablespaceArquivo = tablespaceArquivo;
+    }
+
+    @Override
+    public void criarParticoesFuturas() {
+        int atual = Year.now().getValue();
+        for (int ano = atual; ano <= atual + anosAFrente; ano++) {
+            jdbc.execute("SELECT financas.criar_particao_lancamento(" + ano + ")");
+        }
+    }
+
+    /**
+     * Desanexa a partição do ano, move para o tablespace de arquivo (se configurado) e a anexa a
+     * financas.lancamento_arquivo. Cada passo é uma transação própria: o lock exclusivo sobre
+     * financas.lancamento dura só o DETACH, e a cópia para o outro tablespace trava apenas a
+     * partição já desanexada. O DETACH passa por fora do Hibernate, então o cache de consultas de
+     * lançamentos é esvaziado aqui e as marcas de alteração de todos os usuários avançam.
+     */
+    @Override
+    @CacheEvict(cacheNames = "lancamentos", allEntries = true)
+    public void arquivar(Integer ano) {
+        if (ano == null || ano >= Year.now().getValue()) {
+            throw new RegraNegocioException("Só é possível arquivar anos anteriores ao corrente");
+        }
+        String particao = "financas.lancamento_" + ano;
+        Integer anexada = jdbc.queryForObject(" SELECT count(*) FROM pg_inherits i "
+                + " JOIN pg_class c ON c.oid = i.inhrelid "
+                + " WHERE i.inhparent = 'financas.lancamento'::regclass AND c.relname = ?",
+                Integer.class, "lancamento_" + ano);
+        if (anexada == null || anexada == 0) {
+            throw new RegraNegocioException("Partição do ano " + ano + " não encontrada");
+        }
+
+        jdbc.execute((ConnectionCallback<Void>) conexao -> {
+            conexao.setAutoCommit(true);
+            try (Statement statement = conexao.createStatement()) {
+                statement.execute("SET lock_timeout = '5s'");
+                statement.execute("ALTER TABLE financas.lancamento DETACH PARTITION " + particao);
+                statement.execute("RESET lock_timeout");
+                if (!tablespaceArquivo.isEmpty()) {
+                    statement.execute("ALTER TABLE " + particao + " SET TABLESPACE " + tablespaceArquivo);
+                }
+                statement.execute("ALTER TABLE financas.lancamento_arquivo ATTACH PARTITION " + particao
+                        + " FOR VALUES FROM (" + ano + ") TO (" + (ano + 1) + ")");
+            }
+            return null;
+        });
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(CacheSegundoNivelConfig.CONSULTAS_LANCAMENTO);
+        marcas.avancarTodos();
+        log.info("Partição {} arquivada", particao);
+    }
+}
@@ -0,0 +1,62 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.lewandowski.minhasfinancas.dto.EventoLancamentoDTO;
+import com.lewandowski.minhasfinancas.service.PublicacaoEventoService;
+
+/**
+ * Substituto do broker para desenvolvimento e testes: guarda os últimos eventos publicados em memória.
+ * Usa lock em vez de synchronized para não prender a thread portadora quando rodando em threads virtuais.
+ */
+@Service
+@ConditionalOnProperty(name = "financas.eventos.publicacao", havingValue = "memoria", matchIfMissing = true)
+public class PublicacaoEventoMemoriaServiceImpl implements PublicacaoEventoService {
+
+    private final Deque<EventoLancamentoDTO> publicados = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Value("${financas.eventos.memoria.capacidade:10000}")
+    private int capacidade;
+
+    @Override
+    public void publicar(List<EventoLancamentoDTO> eventos) {
+        lock.lock();
+        try {
+            for (EventoLancamentoDTO evento : eventos) {
+                if (publicados.size() == capacidade) {
+                    publicados.removeFirst();
+                }
+                publicados.addLast(evento);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<EventoLancamentoDTO> obterPublicados() {
+        lock.lock();
+        try {
+            return new ArrayList<>(publicados);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.lock();
+        try {
+            publicados.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
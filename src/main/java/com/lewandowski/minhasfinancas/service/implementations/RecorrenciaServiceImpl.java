@@ -0,0 +1,138 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Recorrencia;
+import com.lewandowski.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.lewandowski.minhasfinancas.service.LancamentoService;
+import com.lewandowski.minhasfinancas.service.RecorrenciaService;
+
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+    private final RecorrenciaRepository repository;
+    private final LancamentoService lancamentoService;
+
+    @Value("${financas.recorrencias.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoService lancamentoService) {
+        this.repository = repository;
+        this.lancamentoService = lancamentoService;
+    }
+
+    @Override
+    @Transactional
+    public Recorrencia salvar(Recorrencia recorrencia) {
+        validar(recorrencia);
+        recorrencia.setAtiva(true);
+        recorrencia.setProximaCompetencia(recorrencia.getCompetenciaInicio());
+        recorrencia.setDataCadastro(LocalDate.now());
+        return repository.save(recorrencia);
+    }
+
+    /**
+     * Ocorrências já materializadas ficam; a recorrência só sai da fila do job. Se o job estiver com a linha
+     * travada, o UPDATE espera o lote terminar e a versão alterada por ele vira conflito.
+     */
+    @Override
+    @Transactional
+    public Recorrencia encerrar(Recorrencia recorrencia) {
+        Objects.requireNonNull(recorrencia.getId());
+        recorrencia.setAtiva(false);
+        return repository.save(recorrencia);
+    }
+
+    @Override
+    public Optional<Recorrencia> obterPorId(Long id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Recorrencia> buscarPorUsuario(Long idUsuario) {
+        return repository.findByIdUsuarioIdOrderByIdAsc(idUsuario);
+    }
+
+    /**
+     * Trava o próximo lote de recorrências vencidas até a competência, gera as ocorrências que faltam e
+     * avança o cursor de cada uma na mesma transação da inclusão: um nó que cair no meio do lote não deixa
+     * nada pela metade, e outro nó retoma de onde o último commit parou. Devolve as ocorrências geradas;
+     * zero quando não há mais recorrências vencidas livres.
+     */
+    @Override
+    @Transactional
+    public int materializarVencidas(int competencia) {
+        List<Recorrencia> vencidas = repository.travarVencidas(competencia, tamanhoLote);
+        if (vencidas.isEmpty()) {
+            return 0;
+        }
+
+        LocalDate hoje = LocalDate.now();
+        List<Lancamento> ocorrencias = new ArrayList<>(vencidas.size());
+        for (Recorrencia recorrencia : vencidas) {
+            Integer fim = recorrencia.getCompetenciaFim();
+            int limite = fim == null ? competencia : Math.min(competencia, fim);
+            int proxima = recorrencia.getProximaCompetencia();
+            for (; proxima <= limite; proxima += recorrencia.getPeriodicidade().getMeses()) {
+                ocorrencias.add(criarOcorrencia(recorrencia, proxima, hoje));
+            }
+            recorrencia.setProximaCompetencia(proxima);
+            if (fim != null && proxima > fim) {
+                recorrencia.setAtiva(false);
+            }
+        }
+        // cursor gravado antes da inclusão: salvarLote limpa o contexto de persistência a cada lote
+        repository.flush();
+        lancamentoService.salvarLote(ocorrencias);
+        return ocorrencias.size();
+    }
+
+    @Override
+    public void validar(Recorrencia recorrencia) {
+        if (recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().isEmpty()) {
+            throw new RegraNegocioException("Informe uma descrição válida");
+        }
+        if (recorrencia.getIdUsuario() == null || recorrencia.getIdUsuario().getId() == null) {
+            throw new RegraNegocioException("Informe um usuário");
+        }
+        if (recorrencia.getValor() == null || !recorrencia.getValor().isPositive()) {
+            throw new RegraNegocioException("Informe um valor válido");
+        }
+        if (recorrencia.getTipo() == null) {
+            throw new RegraNegocioException("Informe um tipo de lançamento");
+        }
+        if (recorrencia.getPeriodicidade() == null) {
+            throw new RegraNegocioException("Informe uma periodicidade");
+        }
+        if (recorrencia.getCompetenciaInicio() == null) {
+            throw new RegraNegocioException("Informe o mês e o ano de início");
+        }
+        if (recorrencia.getCompetenciaFim() != null && recorrencia.getCompetenciaFim() < recorrencia.getCompetenciaInicio()) {
+            throw new RegraNegocioException("O fim da recorrência deve ser posterior ao início");
+        }
+    }
+
+    private static Lancamento criarOcorrencia(Recorrencia recorrencia, int competencia, LocalDate hoje) {
+        return Lancamento.builder()
+                .descricao(recorrencia.getDescricao())
+                .ano(Recorrencia.ano(competencia))
+                .mes(Recorrencia.mes(competencia))
+                .valor(recorrencia.getValor())
+                .tipo(recorrencia.getTipo())
+                .idUsuario(recorrencia.getIdUsuario())
+                .idRecorrencia(recorrencia.getId())
+                .dataCadastro(hoje)
+                .build();
+    }
+}
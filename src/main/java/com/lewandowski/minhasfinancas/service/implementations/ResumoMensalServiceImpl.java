@@ -0,0 +1,202 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaResumoDTO;
+import com.lewandowski.minhasfinancas.dto.ResumoAnualDTO;
+import com.lewandowski.minhasfinancas.dto.ResumoMensalDTO;
+import com.lewandowski.minhasfinancas.dto.TotalResumoDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensalId;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
+import com.lewandowski.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.ResumoMensalService;
+
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+
+    private static final int MESES_NO_ANO = 12;
+
+    private static final Comparator<ResumoMensalId> ORDEM_DAS_CHAVES = Comparator
+            .comparing(ResumoMensalId::getIdUsuario)
+            .thenComparing(ResumoMensalId::getAno)
+            .thenComparing(ResumoMensalId::getMes)
+            .thenComparing(ResumoMensalId::getTipo)
+            .thenComparing(ResumoMensalId::getStatus);
+
+    private final ResumoMensalRepository repository;
+    private final LancamentoRepository lancamentoRepository;
+
+    public ResumoMensalServiceImpl(ResumoMensalRepository repository, LancamentoRepository lancamentoRepository) {
+        this.repository = repository;
+        this.lancamentoRepository = lancamentoRepository;
+    }
+
+    @Override
+    @Transactional
+    public void registrarInclusao(Lancamento lancamento) {
+        somar(chave(lancamento), lancamento.getValor(), 1L);
+    }
+
+    @Override
+    @Transactional
+    public void registrarInclusoes(List<Lancamento> lancamentos) {
+        acumular(lancamentos).forEach((chave, acumulado) -> somar(chave, acumulado.getValor(), acumulado.getQuantidade()));
+    }
+
+    /**
+     * Os lançamentos já trazem o novo status: cada chave acumulada sai do bucket de statusAnterior e entra
+     * no do novo status, com duas atualizações por chave em vez de duas por lançamento.
+     */
+    @Override
+    @Transactional
+    public void registrarAlteracaoStatus(List<Lancamento> lancamentos, StatusLancamento statusAnterior) {
+        acumular(lancamentos).forEach((chave, acumulado) -> {
+            ResumoMensalId origem = new ResumoMensalId(chave.getIdUsuario(), chave.getAno(), chave.getMes(),
+                                                    chave.getTipo(), statusAnterior);
+            somar(origem, acumulado.getValor().negate(), -acumulado.getQuantidade());
+            somar(chave, acumulado.getValor(), acumulado.getQuantidade());
+        });
+    }
+
+    @Override
+    @Transactional
+    public void registrarExclusao(Lancamento lancamento) {
+        somar(chave(lancamento), lancamento.getValor().negate(), -1L);
+    }
+
+    private Map<ResumoMensalId, ResumoMensal> acumular(List<Lancamento> lancamentos) {
+        Map<ResumoMensalId, ResumoMensal> acumulados = new LinkedHashMap<>();
+        for (Lancamento lancamento : lancamentos) {
+            ResumoMensalId chave = chave(lancamento);
+            ResumoMensal acumulado = acumulados.get(chave);
+            if (acumulado == null) {
+                acumulados.put(chave, novoResumo(chave, lancamento.getValor(), 1L));
+            } else {
+                acumulado.setValor(acumulado.getValor().plus(lancamento.getValor()));
+                acumulado.setQuantidade(acumulado.getQuantidade() + 1);
+            }
+        }
+        return acumulados;
+    }
+
+    private ResumoMensalId chave(Lancamento lancamento) {
+        StatusLancamento status = lancamento.getStatus() == null ? StatusLancamento.PENDENTE : lancamento.getStatus();
+        return new ResumoMensalId(lancamento.getIdUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+                                lancamento.getTipo(), status);
+    }
+
+    private ResumoMensal novoResumo(ResumoMensalId chave, Money valor, Long quantidade) {
+        return new ResumoMensal(chave.getIdUsuario(), chave.getAno(), chave.getMes(), chave.getTipo(),
+                                chave.getStatus(), valor, quantidade);
+    }
+
+    private void somar(ResumoMensalId chave, Money valor, Long quantidade) {
+        repository.somar(chave.getIdUsuario(), chave.getAno(), chave.getMes(), chave.getTipo(),
+                        chave.getStatus(), valor, quantidade);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResumoAnualDTO obterResumoAnual(Long idUsuario, Integer ano) {
+        List<ResumoMensalDTO> meses = new ArrayList<>(MESES_NO_ANO);
+        for (int mes = 1; mes <= MESES_NO_ANO; mes++) {
+            meses.add(new ResumoMensalDTO(mes));
+        }
+
+        for (ResumoMensal resumo : repository.findByIdUsuarioAndAno(idUsuario, ano)) {
+            ResumoMensalDTO mes = meses.get(resumo.getMes() - 1);
+            mes.getTotais().add(new TotalResumoDTO(resumo.getTipo().name(), resumo.getStatus().name(),
+                                                resumo.getValor(), resumo.getQuantidade()));
+            if (resumo.getStatus() == StatusLancamento.CANCELADO) {
+                continue;
+            }
+            if (resumo.getTipo() == TipoLancamento.RECEITA) {
+                mes.setReceitas(mes.getReceitas().plus(resumo.getValor()));
+            } else {
+                mes.setDespesas(mes.getDespesas().plus(resumo.getValor()));
+            }
+            mes.setSaldo(mes.getReceitas().minus(mes.getDespesas()));
+        }
+        return new ResumoAnualDTO(idUsuario, ano, meses);
+    }
+
+    /**
+     * Reconstrução do resumo a partir dos lançamentos, nos moldes da reconciliação do saldo
+     * (SaldoUsuarioServiceImpl#reconciliar): a passada sem trava aponta as chaves divergentes, que são
+     * travadas e conferidas de novo por usuário, e a correção entra como diferença pela soma atômica.
+     */
+    @Override
+    @Transactional
+    public List<DivergenciaResumoDTO> reconciliar() {
+        Map<ResumoMensalId, ResumoMensal> registrados = indexar(repository.findAll());
+        Map<ResumoMensalId, ResumoMensal> calculados = indexar(lancamentoRepository.obterResumosMensais());
+
+        // chaves em ordem: duas reconciliações simultâneas travam as linhas na mesma ordem
+        Map<Long, List<ResumoMensalId>> suspeitas = new TreeMap<>();
+        Set<ResumoMensalId> chaves = new TreeSet<>(ORDEM_DAS_CHAVES);
+        chaves.addAll(registrados.keySet());
+        chaves.addAll(calculados.keySet());
+        for (ResumoMensalId chave : chaves) {
+            if (divergente(registrados.get(chave), calculados.get(chave))) {
+                suspeitas.computeIfAbsent(chave.getIdUsuario(), id -> new ArrayList<>()).add(chave);
+            }
+        }
+
+        List<DivergenciaResumoDTO> divergencias = new ArrayList<>();
+        suspeitas.forEach((idUsuario, chavesDoUsuario) -> divergencias.addAll(reconciliar(idUsuario, chavesDoUsuario)));
+        return divergencias;
+    }
+
+    private List<DivergenciaResumoDTO> reconciliar(Long idUsuario, List<ResumoMensalId> chaves) {
+        Map<ResumoMensalId, ResumoMensal> registrados = indexar(repository.travarPorUsuario(idUsuario, chaves));
+        Map<ResumoMensalId, ResumoMensal> calculados = indexar(lancamentoRepository.obterResumosMensais(idUsuario));
+
+        List<DivergenciaResumoDTO> divergencias = new ArrayList<>();
+        for (ResumoMensalId chave : chaves) {
+            ResumoMensal registrado = registrados.getOrDefault(chave, novoResumo(chave, Money.ZERO, 0L));
+            ResumoMensal calculado = calculados.getOrDefault(chave, novoResumo(chave, Money.ZERO, 0L));
+            if (divergente(registrado, calculado)) {
+                divergencias.add(new DivergenciaResumoDTO(idUsuario, chave.getAno(), chave.getMes(),
+                                chave.getTipo().name(), chave.getStatus().name(),
+                                registrado.getValor(), calculado.getValor(),
+                                registrado.getQuantidade(), calculado.getQuantidade()));
+                somar(chave, calculado.getValor().minus(registrado.getValor()),
+                      calculado.getQuantidade() - registrado.getQuantidade());
+            }
+        }
+        return divergencias;
+    }
+
+    private static boolean divergente(ResumoMensal registrado, ResumoMensal calculado) {
+        Money valorRegistrado = registrado == null ? Money.ZERO : registrado.getValor();
+        long quantidadeRegistrada = registrado == null ? 0L : registrado.getQuantidade();
+        Money valorCalculado = calculado == null ? Money.ZERO : calculado.getValor();
+        long quantidadeCalculada = calculado == null ? 0L : calculado.getQuantidade();
+        return valorRegistrado.compareTo(valorCalculado) != 0 || quantidadeRegistrada != quantidadeCalculada;
+    }
+
+    private static Map<ResumoMensalId, ResumoMensal> indexar(List<ResumoMensal> resumos) {
+        Map<ResumoMensalId, ResumoMensal> indexados = new HashMap<>();
+        for (ResumoMensal resumo : resumos) {
+            indexados.put(new ResumoMensalId(resumo.getIdUsuario(), resumo.getAno(), resumo.getMes(),
+                                            resumo.getTipo(), resumo.getStatus()), resumo);
+        }
+        return indexados;
+    }
+}
@@ -0,0 +1,173 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.lewandowski.minhasfinancas.event.SaldoAlteradoEvent;
+import com.lewandowski.minhasfinancas.service.SaldoTempoRealService;
+import com.lewandowski.minhasfinancas.service.SaldoUsuarioService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Saldo por Server-Sent Events. As conexões ociosas ficam só no mapa de assinantes (requisição assíncrona
+ * do servlet, sem thread presa); cada alteração de saldo gera um cálculo por usuário, enviado a todas as
+ * conexões dele.
+ * <p>
+ * O aviso vem de um listener AFTER_COMMIT local: só alterações confirmadas neste nó chegam às conexões
+ * abertas nele. Com mais de um nó, uma alteração gravada por outro nó aparece aqui só no próximo envio
+ * (outra alteração local ou reconexão); quem precisa de todas usa o feed /api/lancamentos/changes.
+ */
+@Service
+public class SaldoTempoRealServiceImpl implements SaldoTempoRealService {
+
+    private final SaldoUsuarioService saldoService;
+    private final long timeout;
+    private final Executor executor;
+    private final ConcurrentMap<Long, Set<SseEmitter>> assinantes = new ConcurrentHashMap<>();
+    // usuários com recálculo já enfileirado: rajadas de alterações viram um único cálculo
+    private final Set<Long> recalculosPendentes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final Counter calculos;
+
+    /**
+     * Com financas.saldo.sse.threads=0 o cálculo roda na thread que confirmou a alteração, sem pool.
+     */
+    @Autowired
+    public SaldoTempoRealServiceImpl(SaldoUsuarioService saldoService,
+                                    @Value("${financas.saldo.sse.timeout-ms:1800000}") long timeout,
+                                    @Value("${financas.saldo.sse.threads:2}") int threads,
+                                    MeterRegistry registry) {
+        this(saldoService, timeout, threads > 0 ? criarExecutor(threads) : Runnable::run, registry);
+    }
+
+    public SaldoTempoRealServiceImpl(SaldoUsuarioService saldoService, long timeout, Executor executor,
+                                    MeterRegistry registry) {
+        this.saldoService = saldoService;
+        this.timeout = timeout;
+        this.executor = executor;
+
+        this.calculos = Counter.builder("financas.saldo.sse.calculos").register(registry);
+        Gauge.builder("financas.saldo.sse.conexoes", conexoes, AtomicInteger::get).register(registry);
+        Gauge.builder("financas.saldo.sse.usuarios", assinantes, ConcurrentMap::size).register(registry);
+    }
+
+    private static ExecutorService criarExecutor(int threads) {
+        AtomicInteger contador = new AtomicInteger();
+        // fila sem limite: cada usuário aparece no máximo uma vez por causa de recalculosPendentes
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "saldo-sse-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public SseEmitter assinar(Long idUsuario) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        assinantes.compute(idUsuario, (id, doUsuario) -> {
+            Set<SseEmitter> registrados = doUsuario == null ? ConcurrentHashMap.newKeySet() : doUsuario;
+            registrados.add(emitter);
+            return registrados;
+        });
+        conexoes.incrementAndGet();
+
+        Runnable remover = () -> remover(idUsuario, emitter);
+        emitter.onCompletion(remover);
+        emitter.onTimeout(remover);
+        emitter.onError(erro -> remover.run());
+
+        // valor inicial: envios antes de a resposta ser iniciada ficam retidos pelo próprio emitter
+        agendarRecalculo(idUsuario);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarSaldo(SaldoAlteradoEvent evento) {
+        if (assinantes.containsKey(evento.getIdUsuario())) {
+            agendarRecalculo(evento.getIdUsuario());
+        }
+    }
+
+    // comentário SSE periódico para proxies e balanceadores não derrubarem conexões ociosas
+    @Scheduled(fixedDelayString = "${financas.saldo.sse.heartbeat-ms:30000}")
+    public void manterConexoes() {
+        executor.execute(() -> assinantes.forEach((idUsuario, doUsuario) ->
+                doUsuario.forEach(emitter -> enviar(idUsuario, emitter, SseEmitter.event().comment("")))));
+    }
+
+    private void agendarRecalculo(Long idUsuario) {
+        if (!recalculosPendentes.add(idUsuario)) {
+            return;
+        }
+        try {
+            executor.execute(() -> recalcular(idUsuario));
+        } catch (RejectedExecutionException e) {
+            recalculosPendentes.remove(idUsuario);
+        }
+    }
+
+    private void recalcular(Long idUsuario) {
+        // liberado antes da consulta: uma alteração confirmada durante o cálculo agenda outro
+        recalculosPendentes.remove(idUsuario);
+        Set<SseEmitter> doUsuario = assinantes.get(idUsuario);
+        if (doUsuario == null) {
+            return;
+        }
+        calculos.increment();
+        String saldo = saldoService.obterSaldo(idUsuario).toString();
+        for (SseEmitter emitter : doUsuario) {
+            enviar(idUsuario, emitter, SseEmitter.event().name("saldo").data(saldo));
+        }
+    }
+
+    private void enviar(Long idUsuario, SseEmitter emitter, SseEventBuilder evento) {
+        try {
+            emitter.send(evento);
+        } catch (IOException | IllegalStateException e) {
+            // cliente desconectado ou emitter já encerrado
+            remover(idUsuario, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remover(Long idUsuario, SseEmitter emitter) {
+        assinantes.computeIfPresent(idUsuario, (id, doUsuario) -> {
+            if (doUsuario.remove(emitter)) {
+                conexoes.decrementAndGet();
+            }
+            return doUsuario.isEmpty() ? null : doUsuario;
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+        assinantes.values().forEach(doUsuario -> doUsuario.forEach(SseEmitter::complete));
+    }
+}
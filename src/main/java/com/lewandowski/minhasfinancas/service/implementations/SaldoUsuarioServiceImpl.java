@@ -0,0 +1,155 @@
+package com.lewandowski.minhasfinancas.service.implementations;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaSaldoDTO;
+import com.lewandowski.minhasfinancas.event.SaldoAlteradoEvent;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuarioId;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
+import com.lewandowski.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.MarcaAlteracaoService;
+import com.lewandowski.minhasfinancas.service.SaldoUsuarioService;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+
+    private final SaldoUsuarioRepository repository;
+    private final LancamentoRepository lancamentoRepository;
+    private final ApplicationEventPublisher eventos;
+    private final MarcaAlteracaoService marcaService;
+    private final TransactionTemplate transacaoPorUsuario;
+
+    public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository, LancamentoRepository lancamentoRepository,
+                                ApplicationEventPublisher eventos, MarcaAlteracaoService marcaService,
+                                PlatformTransactionManager transacoes) {
+        this.repository = repository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.eventos = eventos;
+        this.marcaService = marcaService;
+        this.transacaoPorUsuario = new TransactionTemplate(transacoes);
+        this.transacaoPorUsuario.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void registrarInclusao(Lancamento lancamento) {
+        somar(lancamento.getIdUsuario().getId(), lancamento.getTipo(), lancamento.getValor());
+    }
+
+    @Override
+    @Transactional
+    public void registrarInclusoes(List<Lancamento> lancamentos) {
+        Map<SaldoUsuarioId, Money> totais = new HashMap<>();
+        for (Lancamento lancamento : lancamentos) {
+            totais.merge(new SaldoUsuarioId(lancamento.getIdUsuario().getId(), lancamento.getTipo()),
+                        lancamento.getValor(), Money::plus);
+        }
+        totais.forEach((chave, valor) -> somar(chave.getIdUsuario(), chave.getTipo(), valor));
+    }
+
+    @Override
+    @Transactional
+    public void registrarExclusao(Lancamento lancamento) {
+        somar(lancamento.getIdUsuario().getId(), lancamento.getTipo(), lancamento.getValor().negate());
+    }
+
+    private void somar(Long idUsuario, TipoLancamento tipo, Money valor) {
+        repository.somarValor(idUsuario, tipo, valor);
+        eventos.publishEvent(new SaldoAlteradoEvent(idUsuario));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Money obterSaldo(Long idUsuario) {
+        Money saldo = Money.ZERO;
+        for (SaldoUsuario parcial : repository.findByIdUsuario(idUsuario)) {
+            if (parcial.getTipo() == TipoLancamento.RECEITA) {
+                saldo = saldo.plus(parcial.getValor());
+            } else {
+                saldo = saldo.minus(parcial.getValor());
+            }
+        }
+        return saldo;
+    }
+
+    /**
+     * A primeira passada, sem trava, só aponta os usuários com divergência. Cada um é conferido de novo com
+     * as linhas de saldo travadas: quem já somou e não confirmou termina antes, quem ainda vai somar espera,
+     * e a soma dos lançamentos lida depois da trava corresponde ao saldo travado. A correção entra como
+     * diferença pela mesma soma atômica das inclusões, sem sobrescrever a linha. Cada usuário é conferido
+     * na sua própria transação: a trava dura só a correção dele, e as inclusões dos demais seguem livres.
+     * A marca de alteração do usuário corrigido avança uma vez, na mesma transação da correção.
+     */
+    @Override
+    public List<DivergenciaSaldoDTO> reconciliar() {
+        Map<SaldoUsuarioId, Money> registrados = new HashMap<>();
+        for (SaldoUsuario saldo : repository.findAll()) {
+            registrados.put(new SaldoUsuarioId(saldo.getIdUsuario(), saldo.getTipo()), saldo.getValor());
+        }
+        Set<Long> suspeitos = divergentes(registrados, lancamentoRepository.obterSaldosPorUsuarioETipo());
+
+        // em ordem de id: duas reconciliações simultâneas travam os usuários na mesma ordem
+        List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+        for (Long idUsuario : suspeitos) {
+            divergencias.addAll(transacaoPorUsuario.execute(status -> reconciliar(idUsuario)));
+        }
+        return divergencias;
+    }
+
+    private List<DivergenciaSaldoDTO> reconciliar(Long idUsuario) {
+        List<SaldoUsuario> travados = repository.travarPorUsuario(idUsuario);
+        Map<TipoLancamento, Money> calculados = new EnumMap<>(TipoLancamento.class);
+        for (SaldoUsuario calculado : lancamentoRepository.obterSaldosPorTipo(idUsuario)) {
+            calculados.put(calculado.getTipo(), calculado.getValor());
+        }
+
+        List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+        for (SaldoUsuario registrado : travados) {
+            Money calculado = calculados.getOrDefault(registrado.getTipo(), Money.ZERO);
+            if (registrado.getValor().compareTo(calculado) != 0) {
+                divergencias.add(new DivergenciaSaldoDTO(idUsuario, registrado.getTipo().name(),
+                                                        registrado.getValor(), calculado));
+                repository.somarValor(idUsuario, registrado.getTipo(), calculado.minus(registrado.getValor()));
+            }
+        }
+        if (!divergencias.isEmpty()) {
+            marcaService.avancar(idUsuario);
+            eventos.publishEvent(new SaldoAlteradoEvent(idUsuario));
+        }
+        return divergencias;
+    }
+
+    private static Set<Long> divergentes(Map<SaldoUsuarioId, Money> registrados, List<SaldoUsuario> calculados) {
+        Map<SaldoUsuarioId, Money> restantes = new HashMap<>(registrados);
+        Set<Long> usuarios = new TreeSet<>();
+        for (SaldoUsuario calculado : calculados) {
+            Money registrado = restantes.remove(new SaldoUsuarioId(calculado.getIdUsuario(), calculado.getTipo()));
+            if (registrado == null || registrado.compareTo(calculado.getValor()) != 0) {
+                usuarios.add(calculado.getIdUsuario());
+            }
+        }
+        restantes.forEach((chave, valor) -> {
+            if (!valor.isZero()) {
+                usuarios.add(chave.getIdUsuario());
+            }
+        });
+        return usuarios;
+    }
+}
@@ -2,52 +2,139 @@ package com.lewandowski.minhasfinancas.service.implementations;
 
 import java.math.BigDecimal;
 import java.util.Optional;
-
-import javax.transaction.Transactional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.lewandowski.minhasfinancas.exception.ErroAutenticacaoException;
 import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
 import com.lewandowski.minhasfinancas.model.entity.Usuario;
 import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
 import com.lewandowski.minhasfinancas.model.repository.UsuarioRepository;
+import com.lewandowski.minhasfinancas.service.CriptografiaSenhaService;
 import com.lewandowski.minhasfinancas.service.LancamentoService;
 import com.lewandowski.minhasfinancas.service.UsuarioService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 
     @Autowired
     private final UsuarioRepository user;
     private final LancamentoService lancamento;
+    private final CriptografiaSenhaService criptografia;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transacao;
+    private final Executor gravacao;
+    private final Counter falhasRecodificacao;
 
-    public UsuarioServiceImpl(UsuarioRepository user, LancamentoService lancamento) {
+    public UsuarioServiceImpl(UsuarioRepository user, LancamentoService lancamento,
+                            CriptografiaSenhaService criptografia, CacheManager cacheManager,
+                            PlatformTransactionManager transacoes,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor gravacao,
+                            MeterRegistry registry) {
         super();
         this.user = user;
         this.lancamento = lancamento;
+        this.criptografia = criptografia;
+        this.cacheManager = cacheManager;
+        this.transacao = new TransactionTemplate(transacoes);
+        this.gravacao = gravacao;
+        this.falhasRecodificacao = Counter.builder("financas.senha.recodificacao.falhas").register(registry);
     }
 
     @Override
-    public Usuario autenticar(String email, String senha) {
-        Optional<Usuario> usuario = user.findByEmail(email);
+    public CompletableFuture<Usuario> autenticar(String email, String senha) {
+        Optional<Usuario> usuario = user.buscarPorEmail(email);
         if (!usuario.isPresent()) {
             throw new ErroAutenticacaoException("Usuario não encontrado");
         }
-        if (!usuario.get().getSenha().equals(senha)) {
-            throw new ErroAutenticacaoException("Senha inválida");
+        Usuario encontrado = usuario.get();
+        return criptografia.verificar(senha, encontrado.getSenha())
+                .thenCompose(valida -> {
+                    if (!valida) {
+                        throw new ErroAutenticacaoException("Senha inválida");
+                    }
+                    return recodificarSeNecessario(encontrado, senha);
+                });
+    }
+
+    /**
+     * O hash roda no pool de senhas e a gravação numa transação própria, no executor da aplicação, para não
+     * prender uma thread do bcrypt esperando o banco. Falhar ao recodificar não impede o login: a senha
+     * antiga continua válida e a próxima autenticação tenta de novo.
+     */
+    private CompletableFuture<Usuario> recodificarSeNecessario(Usuario usuario, String senha) {
+        if (!criptografia.precisaRecodificar(usuario.getSenha())) {
+            return CompletableFuture.completedFuture(usuario);
+        }
+        return criptografia.codificar(senha)
+                .thenApplyAsync(senhaCodificada -> gravarSenha(usuario, senhaCodificada), gravacao)
+                .exceptionally(erro -> {
+                    falhasRecodificacao.increment();
+                    log.warn("Falha ao recodificar a senha do usuario {}", usuario.getId(), erro);
+                    return usuario;
+                });
+    }
+
+    private Usuario gravarSenha(Usuario usuario, String senhaCodificada) {
+        String anterior = usuario.getSenha();
+        usuario.setSenha(senhaCodificada);
+        try {
+            transacao.executeWithoutResult(status -> user.save(usuario));
+        } catch (RuntimeException e) {
+            usuario.setSenha(anterior);
+            throw e;
+        }
+        evictarCache(usuario.getId());
+        return usuario;
+    }
+
+    // chamada a partir do callback assíncrono, fora do proxy, por isso não usa @CacheEvict
+    private void evictarCache(Long id) {
+        Cache cache = cacheManager.getCache("usuarios");
+        if (cache != null) {
+            cache.evict(id);
         }
-        return usuario.get();
     }
 
     @Override
-    @Transactional
+    @CachePut(cacheNames = "usuarios", key = "#result.id", unless = "#result == null || #result.id == null")
     public Usuario salvarUsuario(Usuario usuario) {
         validarEmail(usuario.getEmail());
+        if (usuario.getSenha() == null || usuario.getSenha().isEmpty()) {
+            throw new RegraNegocioException("Informe uma senha válida");
+        }
+        usuario.setSenha(aguardar(criptografia.codificar(usuario.getSenha())));
         return user.save(usuario);
     }
 
+    private <T> T aguardar(CompletableFuture<T> operacao) {
+        try {
+            return operacao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     @Override
     public void validarEmail(String email) {
         boolean existe = user.existsByEmail(email);
@@ -57,6 +144,7 @@ public class UsuarioServiceImpl implements UsuarioService {
     }
 
     @Override
+    @Cacheable(cacheNames = "usuarios", condition = "#id != null", sync = true)
     public Optional<Usuario> obterPorId(Long id) {
         return user.findById(id);
     }
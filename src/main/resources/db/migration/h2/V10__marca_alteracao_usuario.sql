@@ -0,0 +1,13 @@
+-- Marca d'água das alterações de cada usuário (MarcaAlteracaoService). Avança na mesma transação da
+-- alteração, então todos os nós leem a mesma marca ao decidir um 304. Usuário sem linha está na versão 0.
+-- Sem chave estrangeira: a marca só descreve o usuário e não deve impedir a exclusão dele.
+CREATE TABLE IF NOT EXISTS financas.marca_alteracao_usuario (
+    id_usuario bigint NOT NULL PRIMARY KEY,
+    versao bigint NOT NULL,
+    alterado_em timestamp with time zone NOT NULL
+);
+
+-- Usuários existentes partem da versão 0 com data conhecida, para que o Last-Modified continue saindo.
+INSERT INTO financas.marca_alteracao_usuario (id_usuario, versao, alterado_em)
+SELECT id, 0, CURRENT_TIMESTAMP
+FROM financas.usuario;
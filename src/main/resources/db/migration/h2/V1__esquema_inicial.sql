@@ -0,0 +1,23 @@
+CREATE SCHEMA IF NOT EXISTS financas;
+
+CREATE TABLE IF NOT EXISTS financas.usuario (
+    id bigint AUTO_INCREMENT PRIMARY KEY,
+    nome varchar(150),
+    email varchar(100),
+    senha varchar(255),
+    data_cadastro date DEFAULT CURRENT_DATE
+);
+
+CREATE TABLE IF NOT EXISTS financas.lancamento (
+    id bigint PRIMARY KEY,
+    descricao varchar(255) NOT NULL,
+    mes integer NOT NULL,
+    ano integer NOT NULL,
+    valor numeric(16, 2) NOT NULL,
+    tipo varchar(20) NOT NULL,
+    status varchar(20),
+    id_usuario bigint REFERENCES financas.usuario (id),
+    data_cadastro date DEFAULT CURRENT_DATE
+);
+
+CREATE SEQUENCE IF NOT EXISTS hibernate_sequence START WITH 1 INCREMENT BY 1;
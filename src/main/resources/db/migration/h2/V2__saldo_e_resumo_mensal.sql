@@ -0,0 +1,32 @@
+-- Agregados mantidos incrementalmente por SaldoUsuarioService e ResumoMensalService.
+CREATE TABLE IF NOT EXISTS financas.saldo_usuario (
+    id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+    tipo varchar(20) NOT NULL,
+    valor numeric(16, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (id_usuario, tipo)
+);
+
+-- Bases que já tinham lançamentos partem do saldo calculado; daqui em diante só entram incrementos.
+INSERT INTO financas.saldo_usuario (id_usuario, tipo, valor)
+SELECT id_usuario, tipo, SUM(valor)
+FROM financas.lancamento
+WHERE id_usuario IS NOT NULL
+GROUP BY id_usuario, tipo;
+
+CREATE TABLE IF NOT EXISTS financas.resumo_mensal (
+    id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+    ano integer NOT NULL,
+    mes integer NOT NULL,
+    tipo varchar(20) NOT NULL,
+    status varchar(20) NOT NULL,
+    valor numeric(16, 2) NOT NULL DEFAULT 0,
+    quantidade bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (id_usuario, ano, mes, tipo, status)
+);
+
+-- Lançamento sem status conta como PENDENTE, como em ResumoMensalServiceImpl.
+INSERT INTO financas.resumo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade)
+SELECT id_usuario, ano, mes, tipo, COALESCE(status, 'PENDENTE'), SUM(valor), COUNT(*)
+FROM financas.lancamento
+WHERE id_usuario IS NOT NULL
+GROUP BY id_usuario, ano, mes, tipo, COALESCE(status, 'PENDENTE');
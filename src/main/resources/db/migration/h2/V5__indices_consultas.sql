@@ -0,0 +1,9 @@
+-- Mesmos índices da migração do Postgres; a busca por trigramas (V4) não existe no H2.
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_ano_mes
+    ON financas.lancamento (id_usuario, ano, mes, id);
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_tipo
+    ON financas.lancamento (id_usuario, tipo, valor);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_usuario_email
+    ON financas.usuario (email);
@@ -0,0 +1,13 @@
+-- No H2 não há particionamento; a tabela existe para que a reconciliação de saldos rode igual ao Postgres.
+CREATE TABLE IF NOT EXISTS financas.lancamento_arquivo (
+    id bigint NOT NULL,
+    descricao varchar(255) NOT NULL,
+    mes integer NOT NULL,
+    ano integer NOT NULL,
+    valor numeric(16, 2) NOT NULL,
+    tipo varchar(20) NOT NULL,
+    status varchar(20),
+    id_usuario bigint,
+    data_cadastro date,
+    PRIMARY KEY (id, ano)
+);
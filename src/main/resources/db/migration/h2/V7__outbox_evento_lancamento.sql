@@ -0,0 +1,26 @@
+CREATE SEQUENCE IF NOT EXISTS financas.evento_lancamento_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS financas.evento_lancamento (
+    id bigint NOT NULL PRIMARY KEY,
+    id_lancamento bigint NOT NULL,
+    id_usuario bigint NOT NULL,
+    tipo varchar(20) NOT NULL,
+    payload varchar NOT NULL,
+    data_criacao timestamp NOT NULL,
+    sequencia bigint,
+    publicado_em timestamp
+);
+
+-- H2 não tem índice parcial
+CREATE INDEX IF NOT EXISTS idx_evento_lancamento_pendente
+    ON financas.evento_lancamento (sequencia, id);
+
+CREATE INDEX IF NOT EXISTS idx_evento_lancamento_usuario_sequencia
+    ON financas.evento_lancamento (id_usuario, sequencia);
+
+CREATE TABLE IF NOT EXISTS financas.evento_lancamento_relay (
+    id integer NOT NULL PRIMARY KEY,
+    ultima_sequencia bigint NOT NULL
+);
+
+INSERT INTO financas.evento_lancamento_relay (id, ultima_sequencia) VALUES (1, 0);
@@ -0,0 +1,6 @@
+-- Coluna do @Version: o UPDATE leva "WHERE versao = ?" e a escrita concorrente que perder a corrida
+-- vira 409 na API em vez de sobrescrever a outra.
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
+ALTER TABLE financas.usuario ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
+-- lancamento_arquivo guarda as partições arquivadas com as mesmas colunas de lancamento
+ALTER TABLE financas.lancamento_arquivo ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
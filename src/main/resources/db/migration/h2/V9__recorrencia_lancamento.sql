@@ -0,0 +1,30 @@
+CREATE SEQUENCE IF NOT EXISTS financas.recorrencia_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS financas.recorrencia (
+    id bigint NOT NULL PRIMARY KEY,
+    id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+    descricao varchar(255) NOT NULL,
+    valor numeric(16, 2) NOT NULL,
+    tipo varchar(20) NOT NULL,
+    periodicidade varchar(20) NOT NULL,
+    competencia_inicio integer NOT NULL,
+    competencia_fim integer,
+    proxima_competencia integer NOT NULL,
+    ativa boolean NOT NULL DEFAULT true,
+    data_cadastro date,
+    versao bigint NOT NULL DEFAULT 0
+);
+
+-- H2 não tem índice parcial
+CREATE INDEX IF NOT EXISTS idx_recorrencia_vencimento
+    ON financas.recorrencia (ativa, proxima_competencia, id);
+
+CREATE INDEX IF NOT EXISTS idx_recorrencia_usuario ON financas.recorrencia (id_usuario);
+
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS id_recorrencia bigint;
+
+-- NULLs não colidem: lançamentos avulsos ficam fora da restrição
+CREATE UNIQUE INDEX IF NOT EXISTS ux_lancamento_recorrencia
+    ON financas.lancamento (id_recorrencia, ano, mes);
+
+ALTER TABLE financas.lancamento_arquivo ADD COLUMN IF NOT EXISTS id_recorrencia bigint;
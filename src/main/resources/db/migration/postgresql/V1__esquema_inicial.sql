@@ -0,0 +1,24 @@
+-- Esquema base. Usa IF NOT EXISTS para que bases criadas antes do Flyway (baseline 0) migrem sem erro.
+CREATE SCHEMA IF NOT EXISTS financas;
+
+CREATE TABLE IF NOT EXISTS financas.usuario (
+    id bigserial PRIMARY KEY,
+    nome varchar(150),
+    email varchar(100),
+    senha varchar(255),
+    data_cadastro date DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS financas.lancamento (
+    id bigint PRIMARY KEY,
+    descricao varchar(255) NOT NULL,
+    mes integer NOT NULL,
+    ano integer NOT NULL,
+    valor numeric(16, 2) NOT NULL,
+    tipo varchar(20) CHECK (tipo IN ('RECEITA', 'DESPESA')) NOT NULL,
+    status varchar(20) CHECK (status IN ('PENDENTE', 'CANCELADO', 'EFETIVADO')),
+    id_usuario bigint REFERENCES financas.usuario (id),
+    data_cadastro date DEFAULT now()
+);
+
+CREATE SEQUENCE IF NOT EXISTS hibernate_sequence START WITH 1 INCREMENT BY 1;
@@ -0,0 +1,2 @@
+-- Lancamento usa o otimizador pooled com allocationSize = 50: o incremento da sequence precisa acompanhar.
+ALTER SEQUENCE hibernate_sequence INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- Índice de trigramas usado por BuscaDescricaoTrigramaRepository (ILIKE '%termo%' e similarity).
+-- CONCURRENTLY roda fora de transação (spring.flyway.mixed=true).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_lancamento_descricao_trgm
+    ON financas.lancamento USING gin (descricao gin_trgm_ops);
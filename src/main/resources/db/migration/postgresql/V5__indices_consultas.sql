@@ -0,0 +1,12 @@
+-- Filtro por usuário/ano/mês de buscar e a paginação por cursor (ORDER BY ano, mes, id).
+-- Também cobre a FK id_usuario, que é a coluna líder.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_lancamento_usuario_ano_mes
+    ON financas.lancamento (id_usuario, ano, mes, id);
+
+-- Soma por usuário e tipo (saldo e reconciliação) respondida só pelo índice.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_lancamento_usuario_tipo
+    ON financas.lancamento (id_usuario, tipo, valor);
+
+-- findByEmail / existsByEmail; falha se já houver emails duplicados, que devem ser resolvidos antes.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_usuario_email
+    ON financas.usuario (email);
@@ -0,0 +1,67 @@
+-- Particiona financas.lancamento por faixa de ano (PostgreSQL 11+).
+-- Executa uma única vez copiando a tabela atual; a aplicação deve estar parada durante esta migração.
+ALTER TABLE financas.lancamento RENAME TO lancamento_legado;
+ALTER INDEX IF EXISTS financas.lancamento_pkey RENAME TO lancamento_legado_pkey;
+DROP INDEX IF EXISTS financas.idx_lancamento_usuario_ano_mes;
+DROP INDEX IF EXISTS financas.idx_lancamento_usuario_tipo;
+DROP INDEX IF EXISTS financas.idx_lancamento_descricao_trgm;
+
+-- A chave primária precisa conter a chave de partição; id continua único pela sequence.
+CREATE TABLE financas.lancamento (
+    id bigint NOT NULL,
+    descricao varchar(255) NOT NULL,
+    mes integer NOT NULL,
+    ano integer NOT NULL,
+    valor numeric(16, 2) NOT NULL,
+    tipo varchar(20) CHECK (tipo IN ('RECEITA', 'DESPESA')) NOT NULL,
+    status varchar(20) CHECK (status IN ('PENDENTE', 'CANCELADO', 'EFETIVADO')),
+    id_usuario bigint REFERENCES financas.usuario (id),
+    data_cadastro date DEFAULT now(),
+    PRIMARY KEY (id, ano)
+) PARTITION BY RANGE (ano);
+
+-- Recebe anos ainda sem partição própria até que criar_particao_lancamento os mova.
+CREATE TABLE financas.lancamento_padrao PARTITION OF financas.lancamento DEFAULT;
+
+-- Partições arquivadas: fora das consultas da aplicação, mas somadas na reconciliação de saldos.
+CREATE TABLE financas.lancamento_arquivo (LIKE financas.lancamento INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (ano);
+
+CREATE OR REPLACE FUNCTION financas.criar_particao_lancamento(p_ano integer) RETURNS void AS $$
+DECLARE
+    particao text := 'lancamento_' || p_ano;
+BEGIN
+    IF to_regclass('financas.' || particao) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE financas.%I (LIKE financas.lancamento INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', particao);
+    EXECUTE format('INSERT INTO financas.%I SELECT * FROM financas.lancamento_padrao WHERE ano = %s', particao, p_ano);
+    DELETE FROM financas.lancamento_padrao WHERE ano = p_ano;
+    EXECUTE format('ALTER TABLE financas.lancamento ATTACH PARTITION financas.%I FOR VALUES FROM (%s) TO (%s)',
+                   particao, p_ano, p_ano + 1);
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    v_ano integer;
+BEGIN
+    FOR v_ano IN
+        SELECT DISTINCT ano FROM financas.lancamento_legado
+        UNION
+        SELECT extract(YEAR FROM current_date)::integer + g FROM generate_series(0, 2) g
+    LOOP
+        PERFORM financas.criar_particao_lancamento(v_ano);
+    END LOOP;
+END $$;
+
+INSERT INTO financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro)
+    SELECT id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro
+    FROM financas.lancamento_legado;
+
+DROP TABLE financas.lancamento_legado;
+
+-- Índices no pai são propagados para cada partição, inclusive as criadas depois.
+CREATE INDEX idx_lancamento_usuario_ano_mes ON financas.lancamento (id_usuario, ano, mes, id);
+CREATE INDEX idx_lancamento_usuario_tipo ON financas.lancamento (id_usuario, tipo, valor);
+CREATE INDEX idx_lancamento_descricao_trgm ON financas.lancamento USING gin (descricao gin_trgm_ops);
@@ -0,0 +1,31 @@
+-- Outbox das alterações de lançamento: a linha é gravada na mesma transação da alteração e
+-- publicada depois pelo relay (RelayEventoLancamentoJob).
+CREATE SEQUENCE IF NOT EXISTS financas.evento_lancamento_seq INCREMENT BY 50;
+
+-- sequencia só é atribuída na publicação e é o cursor do feed GET /api/lancamentos/changes?since=
+CREATE TABLE IF NOT EXISTS financas.evento_lancamento (
+    id bigint NOT NULL PRIMARY KEY,
+    id_lancamento bigint NOT NULL,
+    id_usuario bigint NOT NULL,
+    tipo varchar(20) NOT NULL,
+    payload text NOT NULL,
+    data_criacao timestamp NOT NULL,
+    sequencia bigint,
+    publicado_em timestamp
+);
+
+-- Pendentes do relay, em ordem de gravação; o índice parcial fica pequeno porque o relay o esvazia.
+CREATE INDEX IF NOT EXISTS idx_evento_lancamento_pendente
+    ON financas.evento_lancamento (id) WHERE sequencia IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_evento_lancamento_usuario_sequencia
+    ON financas.evento_lancamento (id_usuario, sequencia);
+
+-- Uma linha só: o SELECT ... FOR UPDATE nela serializa os relays dos vários nós, de modo que a
+-- sequencia cresce na mesma ordem em que os lotes são confirmados.
+CREATE TABLE IF NOT EXISTS financas.evento_lancamento_relay (
+    id integer NOT NULL PRIMARY KEY,
+    ultima_sequencia bigint NOT NULL
+);
+
+INSERT INTO financas.evento_lancamento_relay (id, ultima_sequencia) VALUES (1, 0);
@@ -0,0 +1,36 @@
+-- Lançamentos recorrentes (aluguel, salário, assinaturas): a definição fica em financas.recorrencia e o
+-- RecorrenciaJob materializa as ocorrências vencidas em financas.lancamento.
+CREATE SEQUENCE IF NOT EXISTS financas.recorrencia_seq INCREMENT BY 50;
+
+-- competências em meses corridos (ano * 12 + mes - 1); proxima_competencia é o cursor da materialização
+-- e avança na mesma transação que insere as ocorrências.
+CREATE TABLE IF NOT EXISTS financas.recorrencia (
+    id bigint NOT NULL PRIMARY KEY,
+    id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+    descricao varchar(255) NOT NULL,
+    valor numeric(16, 2) NOT NULL,
+    tipo varchar(20) CHECK (tipo IN ('RECEITA', 'DESPESA')) NOT NULL,
+    periodicidade varchar(20) NOT NULL,
+    competencia_inicio integer NOT NULL,
+    competencia_fim integer,
+    proxima_competencia integer NOT NULL,
+    ativa boolean NOT NULL DEFAULT true,
+    data_cadastro date DEFAULT now(),
+    versao bigint NOT NULL DEFAULT 0
+);
+
+-- Fila do job: só as ativas, na ordem em que o SELECT ... FOR UPDATE SKIP LOCKED as reparte entre os nós.
+CREATE INDEX IF NOT EXISTS idx_recorrencia_vencimento
+    ON financas.recorrencia (proxima_competencia, id) WHERE ativa;
+
+CREATE INDEX IF NOT EXISTS idx_recorrencia_usuario ON financas.recorrencia (id_usuario);
+
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS id_recorrencia bigint;
+
+-- Uma ocorrência por recorrência e competência, mesmo que o cursor seja reprocessado. Inclui ano, a
+-- chave de partição, e é propagado para as partições.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_lancamento_recorrencia
+    ON financas.lancamento (id_recorrencia, ano, mes) WHERE id_recorrencia IS NOT NULL;
+
+-- ATTACH PARTITION exige as mesmas colunas: lancamento_arquivo acompanha lancamento.
+ALTER TABLE financas.lancamento_arquivo ADD COLUMN IF NOT EXISTS id_recorrencia bigint;
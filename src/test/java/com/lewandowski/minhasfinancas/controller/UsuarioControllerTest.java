@@ -2,6 +2,11 @@ package com.lewandowski.minhasfinancas.controller;
 
 import static org.mockito.ArgumentMatchers.matches;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import javax.swing.Spring;
 
 import org.junit.Test;
@@ -11,25 +16,41 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lewandowski.minhasfinancas.dto.ResumoAnualDTO;
+import com.lewandowski.minhasfinancas.dto.ResumoMensalDTO;
+import com.lewandowski.minhasfinancas.dto.TokenDTO;
 import com.lewandowski.minhasfinancas.dto.UsuarioDTO;
 import com.lewandowski.minhasfinancas.exception.ErroAutenticacaoException;
 import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.MarcaAlteracaoUsuario;
 import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.repository.MarcaAlteracaoUsuarioRepository;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
 import com.lewandowski.minhasfinancas.service.LancamentoService;
+import com.lewandowski.minhasfinancas.service.ResumoMensalService;
+import com.lewandowski.minhasfinancas.service.SaldoTempoRealService;
+import com.lewandowski.minhasfinancas.service.TokenService;
 import com.lewandowski.minhasfinancas.service.UsuarioService;
+import com.lewandowski.minhasfinancas.service.implementations.MarcaAlteracaoServiceImpl;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
 @WebMvcTest(controllers = UsuarioController.class)
+@Import(MarcaAlteracaoServiceImpl.class)
 @AutoConfigureMockMvc
 public class UsuarioControllerTest {
     
@@ -45,6 +66,18 @@ public class UsuarioControllerTest {
     @MockBean
     LancamentoService lancamentoService;
 
+    @MockBean
+    ResumoMensalService resumoService;
+
+    @MockBean
+    TokenService tokenService;
+
+    @MockBean
+    SaldoTempoRealService saldoTempoReal;
+
+    @MockBean
+    MarcaAlteracaoUsuarioRepository marcaRepository;
+
     @Test
     public void deveAutenticarUsuario() throws Exception{
         String email = "usuario@email.com";
@@ -52,7 +85,10 @@ public class UsuarioControllerTest {
         UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
         Usuario usuario = Usuario.builder().id(1L).email(email).senha(senha).build();
 
-        Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+        TokenDTO token = new TokenDTO("cabecalho.conteudo.assinatura", "Bearer", 1700000000L, 1L, null);
+
+        Mockito.when(service.autenticar(email, senha)).thenReturn(CompletableFuture.completedFuture(usuario));
+        Mockito.when(tokenService.emitir(usuario)).thenReturn(token);
 
         String json = new ObjectMapper().writeValueAsString(dto);
 
@@ -60,12 +96,14 @@ public class UsuarioControllerTest {
                                                                         .accept(JSON)
                                                                         .contentType(JSON)
                                                                         .content(json);
-        mvc.perform(request)
+        MvcResult resultado = mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
             .andExpect(MockMvcResultMatchers.status().isOk())
-            .andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
-            .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
-            .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
-            .andExpect(MockMvcResultMatchers.jsonPath("senha").value(usuario.getSenha()));
+            .andExpect(MockMvcResultMatchers.jsonPath("token").value(token.getToken()))
+            .andExpect(MockMvcResultMatchers.jsonPath("tipo").value("Bearer"))
+            .andExpect(MockMvcResultMatchers.jsonPath("idUsuario").value(usuario.getId()));
     }
 
     @Test
@@ -83,7 +121,8 @@ public class UsuarioControllerTest {
                                                                         .accept(JSON)
                                                                         .contentType(JSON)
                                                                         .content(json);
-        mvc.perform(request)
+        MvcResult resultado = mvc.perform(request).andReturn();
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
             .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
@@ -106,7 +145,7 @@ public class UsuarioControllerTest {
             .andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
             .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
             .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
-            .andExpect(MockMvcResultMatchers.jsonPath("senha").value(usuario.getSenha()));
+            .andExpect(MockMvcResultMatchers.jsonPath("senha").doesNotExist());
     }
 
     @Test
@@ -126,4 +165,133 @@ public class UsuarioControllerTest {
         mvc.perform(request)
             .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
+
+    @Test
+    public void deveObterResumoMensalDoAno() throws Exception {
+        UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "usuario", "usuario@email.com");
+        ResumoAnualDTO resumo = new ResumoAnualDTO(1L, 2023, Arrays.asList(new ResumoMensalDTO(1), new ResumoMensalDTO(2)));
+
+        Mockito.when(tokenService.validar("token-valido")).thenReturn(Optional.of(autenticado));
+        Mockito.when(resumoService.obterResumoAnual(1L, 2023)).thenReturn(resumo);
+
+        MockHttpServletRequestBuilder request =  MockMvcRequestBuilders.get(API.concat("/1/resumo-mensal?ano=2023"))
+                                                                        .header("Authorization", "Bearer token-valido")
+                                                                        .accept(JSON);
+        mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("ano").value(2023))
+            .andExpect(MockMvcResultMatchers.jsonPath("meses[1].mes").value(2));
+    }
+
+    @Test
+    public void deveRetornarUnauthorizedAoObterResumoSemToken() throws Exception {
+        MockHttpServletRequestBuilder request =  MockMvcRequestBuilders.get(API.concat("/1/resumo-mensal?ano=2023"))
+                                                                        .accept(JSON);
+        mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+
+        Mockito.verify(resumoService, Mockito.never()).obterResumoAnual(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    public void deveObterSaldoComTokenSemConsultarUsuario() throws Exception {
+        UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "usuario", "usuario@email.com");
+
+        Mockito.when(tokenService.validar("token-valido")).thenReturn(Optional.of(autenticado));
+        Mockito.when(lancamentoService.obterSaldoPorUsuario(1L)).thenReturn(Money.of("10"));
+
+        MockHttpServletRequestBuilder request =  MockMvcRequestBuilders.get(API.concat("/1/saldo"))
+                                                                        .header("Authorization", "Bearer token-valido")
+                                                                        .accept(JSON);
+        mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.content().string("10.00"));
+
+        Mockito.verify(service, Mockito.never()).obterPorId(Mockito.anyLong());
+    }
+
+    @Test
+    public void deveResponderNotModifiedQuandoSaldoNaoMudou() throws Exception {
+        UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "usuario", "usuario@email.com");
+
+        Mockito.when(tokenService.validar("token-valido")).thenReturn(Optional.of(autenticado));
+        Mockito.when(lancamentoService.obterSaldoPorUsuario(1L)).thenReturn(Money.of("10"));
+        Mockito.when(marcaRepository.findById(1L))
+               .thenReturn(Optional.of(new MarcaAlteracaoUsuario(1L, 3L, Instant.now())));
+
+        MvcResult primeira = mvc.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo"))
+                                                               .header("Authorization", "Bearer token-valido")
+                                                               .accept(JSON))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                                .andReturn();
+        String etag = primeira.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo"))
+                                          .header("Authorization", "Bearer token-valido")
+                                          .header(HttpHeaders.IF_NONE_MATCH, etag)
+                                          .accept(JSON))
+            .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        Mockito.verify(lancamentoService, Mockito.times(1)).obterSaldoPorUsuario(1L);
+    }
+
+    @Test
+    public void deveRetornarForbiddenAoObterSaldoDeOutroUsuario() throws Exception {
+        UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "usuario", "usuario@email.com");
+
+        Mockito.when(tokenService.validar("token-valido")).thenReturn(Optional.of(autenticado));
+
+        MockHttpServletRequestBuilder request =  MockMvcRequestBuilders.get(API.concat("/2/saldo"))
+                                                                        .header("Authorization", "Bearer token-valido")
+                                                                        .accept(JSON);
+        mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Mockito.verify(lancamentoService, Mockito.never()).obterSaldoPorUsuario(Mockito.anyLong());
+    }
+
+    @Test
+    public void deveAssinarSaldoEmTempoRealComToken() throws Exception {
+        UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "usuario", "usuario@email.com");
+
+        Mockito.when(tokenService.validar("token-valido")).thenReturn(Optional.of(autenticado));
+        Mockito.when(saldoTempoReal.assinar(1L)).thenReturn(new SseEmitter());
+
+        MockHttpServletRequestBuilder request =  MockMvcRequestBuilders.get(API.concat("/1/saldo/stream"))
+                                                                        .header("Authorization", "Bearer token-valido")
+                                                                        .accept(MediaType.TEXT_EVENT_STREAM);
+        mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.request().asyncStarted());
+
+        Mockito.verify(saldoTempoReal).assinar(1L);
+    }
+
+    @Test
+    public void deveRetornarForbiddenAoAssinarSaldoDeOutroUsuario() throws Exception {
+        UsuarioAutenticado autenticado = new UsuarioAutenticado(1L, "usuario", "usuario@email.com");
+
+        Mockito.when(tokenService.validar("token-valido")).thenReturn(Optional.of(autenticado));
+
+        MockHttpServletRequestBuilder request =  MockMvcRequestBuilders.get(API.concat("/2/saldo/stream"))
+                                                                        .header("Authorization", "Bearer token-valido")
+                                                                        .accept(MediaType.TEXT_EVENT_STREAM);
+        mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Mockito.verify(saldoTempoReal, Mockito.never()).assinar(Mockito.anyLong());
+    }
+
+    @Test
+    public void deveRetornarUnauthorizedComTokenInvalido() throws Exception {
+        Mockito.when(tokenService.validar("token-invalido")).thenReturn(Optional.empty());
+
+        MockHttpServletRequestBuilder request =  MockMvcRequestBuilders.get(API.concat("/1/saldo"))
+                                                                        .header("Authorization", "Bearer token-invalido")
+                                                                        .accept(JSON);
+        mvc.perform(request)
+            .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+
+        Mockito.verify(service, Mockito.never()).obterPorId(Mockito.anyLong());
+    }
 }
@@ -1,10 +1,13 @@
 package com.lewandowski.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +18,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lewandowski.minhasfinancas.dto.CursorLancamento;
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
 import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
 import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
 import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
 
 @RunWith(SpringRunner.class)
 @DataJpaTest
@@ -35,7 +43,7 @@ public class LancamentoRepositoryTest {
                                         .ano(2019)
                                         .mes(1)
                                         .descricao("lancamento")
-                                        .valor(BigDecimal.valueOf(10))
+                                        .valor(Money.of("10"))
                                         .tipo(TipoLancamento.RECEITA)
                                         .status(StatusLancamento.PENDENTE)
                                         .dataCadastro(LocalDate.now()).build();
@@ -78,12 +86,110 @@ public class LancamentoRepositoryTest {
         assertThat(lancamentoEncontrado.isPresent()).isTrue();
     }
 
+    @Test
+    public void deveBuscarConsultaPorId() {
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("consulta@email.com").build());
+        Lancamento lancamento = criarLancamento();
+        lancamento.setIdUsuario(usuario);
+        entityManager.persist(lancamento);
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<LancamentoConsultaDTO> consulta = repository.buscarConsultaPorId(lancamento.getId());
+
+        assertThat(consulta).isPresent();
+        assertThat(consulta.get().getIdUsuario()).isEqualTo(usuario.getId());
+        assertThat(consulta.get().getDescricao()).isEqualTo(lancamento.getDescricao());
+        assertThat(consulta.get().getVersao()).isNotNull();
+    }
+
+    @Test
+    public void deveBuscarPaginaAPartirDoCursor() {
+        Lancamento janeiro = criarEPersistirLancamento();
+        Lancamento fevereiro = criarLancamento();
+        fevereiro.setMes(2);
+        entityManager.persist(fevereiro);
+        Lancamento anoSeguinte = criarLancamento();
+        anoSeguinte.setAno(2020);
+        entityManager.persist(anoSeguinte);
+
+        List<Lancamento> primeiraPagina = repository.buscarPagina(new Lancamento(), null, 2);
+        assertThat(primeiraPagina).containsExactly(janeiro, fevereiro);
+
+        List<Lancamento> segundaPagina = repository.buscarPagina(new Lancamento(), CursorLancamento.de(fevereiro), 2);
+        assertThat(segundaPagina).containsExactly(anoSeguinte);
+    }
+
+    @Test
+    public void deveBuscarConsultaEmUmaInstrucaoSemCarregarUsuario() throws Exception {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        for (int i = 0; i < 3; i++) {
+            Lancamento lancamento = criarLancamento();
+            lancamento.setIdUsuario(usuario);
+            entityManager.persist(lancamento);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                                               .unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Lancamento filtro = new Lancamento();
+        filtro.setIdUsuario(usuario);
+        filtro.setAno(2019);
+        List<LancamentoConsultaDTO> consulta = repository.buscarConsulta(filtro);
+
+        assertThat(consulta).hasSize(3).allMatch(linha -> usuario.getId().equals(linha.getIdUsuario()));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+
+        // mesma busca com entidades, como a resposta era serializada antes da projeção
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        String projecao = mapper.writeValueAsString(consulta);
+        String entidades = mapper.writeValueAsString(repository.findAll());
+        assertThat(projecao).doesNotContain("email@email.com");
+        assertThat(projecao.length()).isLessThan(entidades.length());
+    }
+
+    @Test
+    public void deveTratarCuringasDoLikeComoTextoNaDescricao() {
+        Lancamento desconto = criarLancamento();
+        desconto.setDescricao("Desconto 10% a_vista");
+        entityManager.persist(desconto);
+        Lancamento outro = criarLancamento();
+        outro.setDescricao("Desconto 10 reais avista");
+        entityManager.persist(outro);
+
+        Lancamento filtro = new Lancamento();
+        filtro.setDescricao("10% A_V");
+
+        assertThat(repository.buscarConsulta(filtro)).extracting(LancamentoConsultaDTO::getId)
+                .containsExactly(desconto.getId());
+        filtro.setDescricao("10_");
+        assertThat(repository.buscarConsulta(filtro)).isEmpty();
+    }
+
+    @Test
+    public void deveAtualizarStatusSomenteDosLancamentosNoStatusEsperado() {
+        Lancamento pendente = criarEPersistirLancamento();
+        Lancamento cancelado = criarLancamento();
+        cancelado.setStatus(StatusLancamento.CANCELADO);
+        entityManager.persist(cancelado);
+
+        int atualizados = repository.atualizarStatus(2019, Arrays.asList(pendente.getId(), cancelado.getId()),
+                StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(entityManager.find(Lancamento.class, pendente.getId()).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+        assertThat(entityManager.find(Lancamento.class, cancelado.getId()).getStatus()).isEqualTo(StatusLancamento.CANCELADO);
+    }
+
     public static Lancamento criarLancamento() {
         return Lancamento.builder()
                         .ano(2019)
                         .mes(1)
                         .descricao("lancamento")
-                        .valor(BigDecimal.valueOf(10))
+                        .valor(Money.of("10"))
                         .tipo(TipoLancamento.RECEITA)
                         .status(StatusLancamento.PENDENTE)
                         .dataCadastro(LocalDate.now()).build();
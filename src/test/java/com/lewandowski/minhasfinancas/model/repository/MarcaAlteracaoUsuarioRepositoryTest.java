@@ -0,0 +1,54 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.model.entity.MarcaAlteracaoUsuario;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class MarcaAlteracaoUsuarioRepositoryTest {
+    @Autowired
+    MarcaAlteracaoUsuarioRepository repository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveCriarMarcaNaPrimeiraAlteracaoEAvancarNasSeguintes() {
+        Usuario usuario = entityManager.persistAndFlush(UsuarioRepositoryTest.criarUsuario());
+
+        repository.avancar(usuario.getId());
+        entityManager.clear();
+        MarcaAlteracaoUsuario primeira = repository.findById(usuario.getId()).get();
+        repository.avancar(usuario.getId());
+        entityManager.clear();
+        MarcaAlteracaoUsuario segunda = repository.findById(usuario.getId()).get();
+
+        assertThat(primeira.getVersao()).isEqualTo(1L);
+        assertThat(segunda.getVersao()).isEqualTo(2L);
+        assertThat(segunda.getAlteradoEm()).isAfterOrEqualTo(primeira.getAlteradoEm());
+    }
+
+    @Test
+    public void deveAvancarAMarcaDeTodosOsUsuarios() {
+        Usuario usuario = entityManager.persistAndFlush(UsuarioRepositoryTest.criarUsuario());
+        repository.avancar(usuario.getId());
+
+        repository.avancarTodos();
+        entityManager.clear();
+
+        assertThat(repository.findById(usuario.getId()).get().getVersao()).isEqualTo(2L);
+    }
+}
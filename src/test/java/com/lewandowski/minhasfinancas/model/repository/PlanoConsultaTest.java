@@ -0,0 +1,103 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+
+/**
+ * Garante, pelo EXPLAIN do H2, que as consultas mais frequentes usam os índices criados pelas migrações
+ * em vez de varrer a tabela inteira. O SQL explicado é o que o Hibernate realmente gerou, capturado pelo
+ * StatementInspector, e não uma cópia escrita à mão que deixaria de acompanhar os repositórios.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + "com.lewandowski.minhasfinancas.model.repository.PlanoConsultaTest$CapturaSql")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class PlanoConsultaTest {
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Before
+    public void limparCaptura() {
+        CapturaSql.CAPTURADOS.clear();
+    }
+
+    @Test
+    public void deveUsarIndiceAoFiltrarPorUsuarioAnoEMes() {
+        Lancamento filtro = new Lancamento();
+        filtro.setIdUsuario(Usuario.builder().id(1L).build());
+        filtro.setAno(2020);
+        filtro.setMes(1);
+
+        lancamentoRepository.buscarConsulta(filtro);
+        String plano = explicar(capturado("financas.lancamento"));
+
+        assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_ANO_MES").doesNotContain("tableScan");
+    }
+
+    @Test
+    public void deveUsarIndiceCobrindoSomaDoSaldo() {
+        lancamentoRepository.obterSaldosPorTipo(1L);
+        String plano = explicar(capturado("financas.lancamento"));
+
+        // o ramo de lancamento_arquivo é lido só na reconciliação e não tem índice no H2
+        assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_TIPO").doesNotContain("LANCAMENTO.tableScan");
+    }
+
+    @Test
+    public void deveUsarIndiceUnicoAoBuscarPorEmail() {
+        usuarioRepository.findByEmail("usuario@email.com");
+        String plano = explicar(capturado("financas.usuario"));
+
+        assertThat(plano).contains("UX_USUARIO_EMAIL").doesNotContain("tableScan");
+    }
+
+    private static String capturado(String tabela) {
+        return CapturaSql.CAPTURADOS.stream()
+                .map(sql -> sql.trim().toLowerCase())
+                .filter(sql -> sql.startsWith("select") && sql.contains(tabela))
+                .reduce((primeiro, ultimo) -> ultimo)
+                .orElseThrow(() -> new AssertionError("Nenhuma consulta capturada em " + tabela));
+    }
+
+    // os parâmetros ficam sem valor: o H2 escolhe o índice na preparação, sem olhar para eles
+    private String explicar(String sql) {
+        return jdbc.query("EXPLAIN " + sql, resultado -> {
+            resultado.next();
+            return resultado.getString(1);
+        });
+    }
+
+    public static class CapturaSql implements StatementInspector {
+        static final List<String> CAPTURADOS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            CAPTURADOS.add(sql);
+            return sql;
+        }
+    }
+}
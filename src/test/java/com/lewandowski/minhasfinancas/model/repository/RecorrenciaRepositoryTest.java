@@ -0,0 +1,70 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import jakarta.persistence.PersistenceException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Recorrencia;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.lewandowski.minhasfinancas.service.RecorrenciaServiceTest;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class RecorrenciaRepositoryTest {
+    @Autowired
+    RecorrenciaRepository repository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveTravarSomenteRecorrenciasAtivasEVencidas() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Recorrencia vencida = persistir(usuario, Recorrencia.competencia(2024, 3), true);
+        persistir(usuario, Recorrencia.competencia(2024, 7), true);
+        persistir(usuario, Recorrencia.competencia(2024, 1), false);
+        entityManager.flush();
+
+        List<Recorrencia> travadas = repository.travarVencidas(Recorrencia.competencia(2024, 6), 10);
+
+        assertThat(travadas).extracting(Recorrencia::getId).containsExactly(vencida.getId());
+    }
+
+    @Test
+    public void naoDevePermitirDuasOcorrenciasDaMesmaRecorrenciaNaCompetencia() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Recorrencia recorrencia = persistir(usuario, Recorrencia.competencia(2019, 1), true);
+        for (int i = 0; i < 2; i++) {
+            Lancamento ocorrencia = LancamentoRepositoryTest.criarLancamento();
+            ocorrencia.setIdUsuario(usuario);
+            ocorrencia.setIdRecorrencia(recorrencia.getId());
+            entityManager.persist(ocorrencia);
+        }
+
+        assertThatThrownBy(() -> entityManager.flush()).isInstanceOf(PersistenceException.class);
+    }
+
+    private Recorrencia persistir(Usuario usuario, int proxima, boolean ativa) {
+        Recorrencia recorrencia = RecorrenciaServiceTest.criarRecorrencia(PeriodicidadeRecorrencia.MENSAL, proxima, null);
+        recorrencia.setId(null);
+        recorrencia.setIdUsuario(usuario);
+        recorrencia.setAtiva(ativa);
+        return entityManager.persist(recorrencia);
+    }
+}
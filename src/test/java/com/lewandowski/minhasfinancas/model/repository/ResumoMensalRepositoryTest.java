@@ -0,0 +1,66 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensalId;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class ResumoMensalRepositoryTest {
+    @Autowired
+    ResumoMensalRepository repository;
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveCriarLinhaNaPrimeiraSomaESomarNasSeguintes() {
+        Usuario usuario = entityManager.persistAndFlush(UsuarioRepositoryTest.criarUsuario());
+
+        repository.somar(usuario.getId(), 2023, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, Money.of("40"), 1L);
+        repository.somar(usuario.getId(), 2023, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, Money.of("60"), 2L);
+        entityManager.clear();
+
+        assertThat(repository.findByIdUsuarioAndAno(usuario.getId(), 2023)).containsExactly(
+                new ResumoMensal(usuario.getId(), 2023, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, Money.of("100"), 3L));
+    }
+
+    @Test
+    public void deveCalcularResumoDosLancamentosComoOServico() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        for (StatusLancamento status : Arrays.asList(null, StatusLancamento.PENDENTE)) {
+            Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+            lancamento.setIdUsuario(usuario);
+            lancamento.setStatus(status);
+            entityManager.persist(lancamento);
+        }
+        entityManager.flush();
+
+        assertThat(lancamentoRepository.obterResumosMensais(usuario.getId())).containsExactly(
+                new ResumoMensal(usuario.getId(), 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, Money.of("20"), 2L));
+        assertThat(repository.travarPorUsuario(usuario.getId(), Arrays.asList(
+                new ResumoMensalId(usuario.getId(), 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE)))).containsExactly(
+                new ResumoMensal(usuario.getId(), 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, Money.ZERO, 0L));
+    }
+}
@@ -0,0 +1,55 @@
+package com.lewandowski.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class SaldoUsuarioRepositoryTest {
+    @Autowired
+    SaldoUsuarioRepository repository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveCriarLinhaNaPrimeiraSomaESomarNasSeguintes() {
+        Usuario usuario = entityManager.persistAndFlush(UsuarioRepositoryTest.criarUsuario());
+
+        repository.somarValor(usuario.getId(), TipoLancamento.RECEITA, Money.of("100"));
+        repository.somarValor(usuario.getId(), TipoLancamento.RECEITA, Money.of("-30.50"));
+        entityManager.clear();
+
+        List<SaldoUsuario> saldos = repository.findByIdUsuario(usuario.getId());
+        assertThat(saldos).containsExactly(new SaldoUsuario(usuario.getId(), TipoLancamento.RECEITA, Money.of("69.50")));
+    }
+
+    @Test
+    public void deveCriarLinhasZeradasAoTravarUsuarioSemSaldo() {
+        Usuario usuario = entityManager.persistAndFlush(UsuarioRepositoryTest.criarUsuario());
+        repository.somarValor(usuario.getId(), TipoLancamento.DESPESA, Money.of("10"));
+
+        List<SaldoUsuario> travados = repository.travarPorUsuario(usuario.getId());
+
+        assertThat(travados).containsExactlyInAnyOrder(
+                new SaldoUsuario(usuario.getId(), TipoLancamento.RECEITA, Money.ZERO),
+                new SaldoUsuario(usuario.getId(), TipoLancamento.DESPESA, Money.of("10")));
+    }
+}
@@ -63,4 +63,15 @@ public class UsuarioRepositoryTest {
         Optional<Usuario> result = user.findByEmail("usuario@email.com");
         Assertions.assertThat(result.isPresent());
     }
+
+    @Test
+    public void buscaUsuarioPeloIdNaturalEmail() {
+        Usuario usuario = entityManager.persistFlushFind(criarUsuario());
+        entityManager.clear();
+
+        Optional<Usuario> result = user.buscarPorEmail("email@email.com");
+
+        Assertions.assertThat(result).hasValueSatisfying(u -> Assertions.assertThat(u.getId()).isEqualTo(usuario.getId()));
+        Assertions.assertThat(user.buscarPorEmail("outro@email.com")).isEmpty();
+    }
 }
@@ -0,0 +1,45 @@
+package com.lewandowski.minhasfinancas.model.valor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class MoneyTest {
+
+    @Test
+    public void deveSomarESubtrairEmCentavos() {
+        Money saldo = Money.of("100.10").plus(Money.of("0.20")).minus(Money.of("50"));
+
+        assertThat(saldo.getCentavos()).isEqualTo(5030L);
+        assertThat(saldo.toBigDecimal()).isEqualTo(new BigDecimal("50.30"));
+    }
+
+    @Test
+    public void deveArredondarParaCentavosComoOBanco() {
+        assertThat(Money.of("10.005").getCentavos()).isEqualTo(1001L);
+        assertThat(Money.of("10.004").getCentavos()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void deveLancarErroAoEstourarOLimite() {
+        Throwable erro = catchThrowable(() -> Money.ofCentavos(Long.MAX_VALUE).plus(Money.ofCentavos(1L)));
+
+        assertThat(erro).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void deveSerializarJsonSemPerderPrecisao() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        String json = mapper.writeValueAsString(Money.of("1234567890123.45"));
+        Money lido = mapper.readValue("1234567890123.45", Money.class);
+
+        assertThat(json).isEqualTo("1234567890123.45");
+        assertThat(lido).isEqualTo(Money.ofCentavos(123456789012345L));
+    }
+}
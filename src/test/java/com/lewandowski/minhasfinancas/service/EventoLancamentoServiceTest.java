@@ -0,0 +1,96 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lewandowski.minhasfinancas.dto.EventoLancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.MudancasLancamentoDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.TipoEventoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.lewandowski.minhasfinancas.service.implementations.EventoLancamentoServiceImpl;
+import com.lewandowski.minhasfinancas.service.implementations.PublicacaoEventoMemoriaServiceImpl;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class EventoLancamentoServiceTest {
+    @SpyBean
+    EventoLancamentoServiceImpl service;
+
+    @Autowired
+    PublicacaoEventoMemoriaServiceImpl publicacao;
+
+    @Autowired
+    TransactionTemplate transacao;
+
+    @Test
+    public void deveExigirTransacaoAoRegistrar() {
+        Throwable erro = catchThrowable(() -> service.registrar(criarLancamento(9001L), TipoEventoLancamento.CRIADO));
+
+        assertThat(erro).isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    public void devePublicarPendentesEmOrdemComSequencia() {
+        Lancamento lancamento = criarLancamento(9002L);
+        transacao.execute(status -> {
+            service.registrar(lancamento, TipoEventoLancamento.CRIADO);
+            service.registrar(lancamento, TipoEventoLancamento.STATUS_ALTERADO);
+            return null;
+        });
+        assertThat(service.buscarDesde(9002L, 0L, null).getEventos()).isEmpty();
+
+        service.publicarPendentes();
+        MudancasLancamentoDTO mudancas = service.buscarDesde(9002L, 0L, null);
+
+        assertThat(mudancas.getEventos()).extracting(EventoLancamentoDTO::getTipo)
+                                        .containsExactly("CRIADO", "STATUS_ALTERADO");
+        assertThat(mudancas.getEventos().get(1).getSequencia()).isGreaterThan(mudancas.getEventos().get(0).getSequencia());
+        assertThat(mudancas.getEventos().get(0).getLancamento()).contains("\"valor\":10.00");
+        assertThat(mudancas.getProximaSequencia()).isEqualTo(mudancas.getEventos().get(1).getSequencia());
+        assertThat(publicacao.obterPublicados()).extracting(EventoLancamentoDTO::getId)
+                                                .contains(mudancas.getEventos().get(0).getId());
+        assertThat(service.buscarDesde(9002L, mudancas.getProximaSequencia(), null).getEventos()).isEmpty();
+    }
+
+    @Test
+    public void deveCompletarLongPollQuandoLoteDoUsuarioForPublicado() throws Exception {
+        service.publicarPendentes();
+        Long desde = service.buscarDesde(9003L, 0L, null).getProximaSequencia();
+        CompletableFuture<MudancasLancamentoDTO> aguardando = service.aguardarDesde(9003L, desde, null);
+
+        transacao.execute(status -> {
+            service.registrar(criarLancamento(9003L), TipoEventoLancamento.CRIADO);
+            return null;
+        });
+        assertThat(aguardando).isNotDone();
+
+        service.publicarPendentes();
+
+        MudancasLancamentoDTO mudancas = aguardando.get(5, TimeUnit.SECONDS);
+        assertThat(mudancas.getEventos()).hasSize(1);
+        assertThat(mudancas.getEventos().get(0).getIdUsuario()).isEqualTo(9003L);
+    }
+
+    private static Lancamento criarLancamento(Long idUsuario) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1L);
+        lancamento.setIdUsuario(Usuario.builder().id(idUsuario).build());
+        return lancamento;
+    }
+}
@@ -0,0 +1,86 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.dto.LancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.RelatorioImportacaoDTO;
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.implementations.ImportacaoLancamentoServiceImpl;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class ImportacaoLancamentoServiceTest {
+    @SpyBean
+    ImportacaoLancamentoServiceImpl service;
+
+    @MockBean
+    LancamentoService lancamentoService;
+
+    @MockBean
+    UsuarioService usuarioService;
+
+    @Test
+    public void deveImportarLinhasValidasEReportarErrosDoCsv() {
+        Mockito.when(usuarioService.obterPorId(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).build()));
+        String csv = "descricao;mes;ano;valor;tipo\n"
+                + "Aluguel;1;2023;1.500,00;DESPESA\n"
+                + "Salário;1;2023;abc;RECEITA\n"
+                + "Mercado;1;2023;350.20;GASTO\n"
+                + "\n"
+                + "Salário;1;2023;5000;RECEITA\n";
+
+        RelatorioImportacaoDTO relatorio = service.importarCsv(1L, new StringReader(csv));
+
+        assertThat(relatorio.getTotalLinhas()).isEqualTo(4);
+        assertThat(relatorio.getImportadas()).isEqualTo(2);
+        assertThat(relatorio.getErros()).extracting("linha").containsExactly(3, 4);
+        Mockito.verify(lancamentoService).salvarLote(Mockito.argThat(lote -> lote.size() == 2
+                && lote.get(0).getValor().compareTo(Money.of("1500.00")) == 0));
+        Mockito.verify(usuarioService, Mockito.times(1)).obterPorId(1L);
+    }
+
+    @Test
+    public void deveReportarErrosDeValidacaoPorLinha() {
+        Mockito.when(usuarioService.obterPorId(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).build()));
+        LancamentoDTO valido = LancamentoDTO.builder().descricao("Aluguel").mes(1).ano(2023)
+                .valor(Money.of("10")).tipo("DESPESA").build();
+        LancamentoDTO invalido = LancamentoDTO.builder().descricao("").mes(1).ano(2023)
+                .valor(Money.of("10")).tipo("DESPESA").build();
+        Mockito.doThrow(new RegraNegocioException("Informe uma descrição válida"))
+                .when(lancamentoService).validar(Mockito.argThat(l -> "".equals(l.getDescricao())));
+
+        RelatorioImportacaoDTO relatorio = service.importar(1L, Arrays.asList(valido, invalido));
+
+        assertThat(relatorio.getImportadas()).isEqualTo(1);
+        assertThat(relatorio.getErros()).hasSize(1);
+        assertThat(relatorio.getErros().get(0).getLinha()).isEqualTo(2);
+        assertThat(relatorio.getErros().get(0).getMensagem()).isEqualTo("Informe uma descrição válida");
+    }
+
+    @Test
+    public void naoDeveImportarParaUsuarioInexistente() {
+        Mockito.when(usuarioService.obterPorId(1L)).thenReturn(Optional.empty());
+
+        Throwable erro = catchThrowable(() -> service.importar(1L, Arrays.asList(new LancamentoDTO())));
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class);
+        Mockito.verify(lancamentoService, Mockito.never()).salvarLote(Mockito.anyList());
+    }
+}
@@ -0,0 +1,105 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepositoryTest;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.cache.type=caffeine",
+    "spring.cache.cache-names=usuarios,lancamentos"
+})
+public class LancamentoCacheTest {
+    @Autowired
+    LancamentoService service;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    LancamentoRepository repository;
+
+    @MockBean
+    SaldoUsuarioService saldoService;
+
+    @MockBean
+    ResumoMensalService resumoService;
+
+    @MockBean
+    EventoLancamentoService eventoService;
+
+    @Before
+    public void limparCache() {
+        cacheManager.getCache("lancamentos").clear();
+    }
+
+    @Test
+    public void deveConsultarRepositorioUmaVezParaLeiturasRepetidas() {
+        LancamentoConsultaDTO consulta = LancamentoConsultaDTO.builder().id(1L).idUsuario(1L).build();
+        Mockito.when(repository.buscarConsultaPorId(1L)).thenReturn(Optional.of(consulta));
+
+        service.obterPorId(1L);
+        Optional<LancamentoConsultaDTO> resultado = service.obterPorId(1L);
+
+        assertThat(resultado).contains(consulta);
+        Mockito.verify(repository, Mockito.times(1)).buscarConsultaPorId(1L);
+    }
+
+    @Test
+    public void deveInvalidarCacheAoDeletar() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1L);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamento));
+        Mockito.when(repository.buscarConsultaPorId(1L))
+               .thenReturn(Optional.of(LancamentoConsultaDTO.builder().id(1L).idUsuario(1L).build()));
+
+        service.obterPorId(1L);
+        service.deletar(lancamento);
+        service.obterPorId(1L);
+
+        // uma leitura antes e outra depois da invalidação
+        Mockito.verify(repository, Mockito.times(2)).buscarConsultaPorId(1L);
+    }
+
+    @Test
+    public void naoDeveEntregarAInstanciaDoCacheParaAlteracao() {
+        Mockito.when(repository.buscarConsultaPorId(1L))
+               .thenReturn(Optional.of(LancamentoConsultaDTO.builder().id(1L).idUsuario(1L).build()));
+        Optional<LancamentoConsultaDTO> emCache = service.obterPorId(1L);
+
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1L);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamento));
+
+        assertThat(service.obterParaAlteracao(1L).get()).isSameAs(lancamento);
+        assertThat(service.obterPorId(1L).get()).isSameAs(emCache.get());
+        Mockito.verify(repository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void naoDeveFalharAoInvalidarLancamentoSemId() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+
+        assertThatThrownBy(() -> service.deletar(lancamento)).isInstanceOf(NullPointerException.class);
+    }
+}
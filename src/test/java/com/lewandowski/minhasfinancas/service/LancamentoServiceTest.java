@@ -3,7 +3,7 @@ package com.lewandowski.minhasfinancas.service;
 import static org.mockito.Mockito.mockitoSession;
 import static org.mockito.Mockito.when;
 
-import java.math.BigDecimal;
+import java.time.Year;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -13,22 +13,31 @@ import org.assertj.core.api.Assertions;
 import static org.assertj.core.api.Assertions.*;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.lewandowski.minhasfinancas.dto.CursorLancamento;
+import com.lewandowski.minhasfinancas.dto.LancamentoConsultaDTO;
+import com.lewandowski.minhasfinancas.dto.PaginaLancamentoDTO;
+import com.lewandowski.minhasfinancas.dto.ResultadoStatusLoteDTO;
 import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
 import com.lewandowski.minhasfinancas.model.entity.Lancamento;
 import com.lewandowski.minhasfinancas.model.entity.Usuario;
 import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoEventoLancamento;
 import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
 import com.lewandowski.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.lewandowski.minhasfinancas.model.valor.Money;
 import com.lewandowski.minhasfinancas.service.implementations.LancamentoServiceImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.val;
 
 @SpringBootTest
@@ -41,6 +50,18 @@ public class LancamentoServiceTest {
     @MockBean
     LancamentoRepository repository;
 
+    @MockBean
+    SaldoUsuarioService saldoService;
+
+    @MockBean
+    ResumoMensalService resumoService;
+
+    @MockBean
+    EventoLancamentoService eventoService;
+
+    @Autowired
+    MeterRegistry registry;
+
     @Test
     public void deveSalvarLancamento() {
         Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
@@ -55,6 +76,9 @@ public class LancamentoServiceTest {
 
         assertThat(lancamento.getId()).isEqualTo(lancamentoSalvo.getId());
         assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+        Mockito.verify(saldoService).registrarInclusao(lancamentoSalvo);
+        Mockito.verify(resumoService).registrarInclusao(lancamentoSalvo);
+        Mockito.verify(eventoService).registrar(lancamentoSalvo, TipoEventoLancamento.CRIADO);
     }
 
     @Test
@@ -81,6 +105,82 @@ public class LancamentoServiceTest {
         Mockito.verify(repository, Mockito.times(1)).save(lancamentoSalvo);        
     }
 
+    @Test
+    public void deveSubstituirSaldoAnteriorAoAtualizarLancamento() {
+        Lancamento lancamentoAnterior = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAnterior.setId(1L);
+
+        Lancamento lancamentoAtualizado = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAtualizado.setId(1L);
+        lancamentoAtualizado.setValor(Money.of("50"));
+
+        Mockito.doNothing().when(service).validar(lancamentoAtualizado);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamentoAnterior));
+        Mockito.when(repository.save(lancamentoAtualizado)).thenReturn(lancamentoAtualizado);
+
+        service.atualizar(lancamentoAtualizado);
+
+        Mockito.verify(saldoService).registrarExclusao(lancamentoAnterior);
+        Mockito.verify(saldoService).registrarInclusao(lancamentoAtualizado);
+        Mockito.verify(resumoService).registrarExclusao(lancamentoAnterior);
+        Mockito.verify(resumoService).registrarInclusao(lancamentoAtualizado);
+        Mockito.verify(eventoService).registrar(lancamentoAtualizado, TipoEventoLancamento.ATUALIZADO);
+    }
+
+    @Test
+    public void deveRegistrarEventoDeStatusQuandoSoOStatusMuda() {
+        Lancamento lancamentoAnterior = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAnterior.setId(1L);
+
+        Lancamento lancamentoAtualizado = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAtualizado.setId(1L);
+        lancamentoAtualizado.setStatus(StatusLancamento.EFETIVADO);
+
+        Mockito.doNothing().when(service).validar(lancamentoAtualizado);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamentoAnterior));
+        Mockito.when(repository.save(lancamentoAtualizado)).thenReturn(lancamentoAtualizado);
+
+        service.atualizar(lancamentoAtualizado);
+
+        Mockito.verify(eventoService).registrar(lancamentoAtualizado, TipoEventoLancamento.STATUS_ALTERADO);
+    }
+
+    @Test
+    public void deveLancarConflitoAoAtualizarCopiaComVersaoAntiga() {
+        Lancamento lancamentoAnterior = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAnterior.setId(1L);
+        lancamentoAnterior.setVersao(3L);
+
+        Lancamento lancamentoAtualizado = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAtualizado.setId(1L);
+        lancamentoAtualizado.setVersao(2L);
+
+        Mockito.doNothing().when(service).validar(lancamentoAtualizado);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamentoAnterior));
+
+        catchThrowableOfType( () -> service.atualizar(lancamentoAtualizado), ObjectOptimisticLockingFailureException.class);
+        Mockito.verify(repository, Mockito.never()).save(lancamentoAtualizado);
+        Mockito.verifyNoInteractions(saldoService, eventoService);
+    }
+
+    @Test
+    public void deveUsarVersaoGravadaQuandoClienteNaoInformaVersao() {
+        Lancamento lancamentoAnterior = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAnterior.setId(1L);
+        lancamentoAnterior.setVersao(3L);
+
+        Lancamento lancamentoAtualizado = LancamentoRepositoryTest.criarLancamento();
+        lancamentoAtualizado.setId(1L);
+
+        Mockito.doNothing().when(service).validar(lancamentoAtualizado);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamentoAnterior));
+        Mockito.when(repository.save(lancamentoAtualizado)).thenReturn(lancamentoAtualizado);
+
+        service.atualizar(lancamentoAtualizado);
+
+        assertThat(lancamentoAtualizado.getVersao()).isEqualTo(3L);
+    }
+
     @Test
     public void deveLancarErroAoTentarAtualizarLancamentoNaoSalvo() {
         Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
@@ -93,8 +193,12 @@ public class LancamentoServiceTest {
     public void deveDeletarLancamento() {
         Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 
+        lancamento.setId(1L);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(lancamento));
+
         service.deletar(lancamento);
         Mockito.verify(repository).delete(lancamento);
+        Mockito.verify(saldoService).registrarExclusao(lancamento);
 
     }
 
@@ -111,15 +215,86 @@ public class LancamentoServiceTest {
         Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
         lancamento.setId(1L);
 
-        List<Lancamento> lista = Arrays.asList(lancamento);
-        Mockito.when( repository.findAll( Mockito.any(Example.class)) ).thenReturn(lista);
+        LancamentoConsultaDTO linha = LancamentoConsultaDTO.builder().id(1L).descricao(lancamento.getDescricao()).build();
+        Mockito.when( repository.buscarConsulta(lancamento) ).thenReturn(Arrays.asList(linha));
 
-        List<Lancamento> resultado = service.buscar(lancamento);
+        List<LancamentoConsultaDTO> resultado = service.buscar(lancamento);
 
         assertThat(resultado)
                 .isNotEmpty()
                 .hasSize(1)
-                .contains(lancamento);
+                .contains(linha);
+    }
+
+    @Test
+    public void deveBuscarTodosOsAnosQuandoAnoNaoInformado() {
+        Lancamento filtro = new Lancamento();
+        filtro.setIdUsuario(Usuario.builder().id(1L).build());
+
+        service.buscar(filtro);
+
+        ArgumentCaptor<Lancamento> captor = ArgumentCaptor.forClass(Lancamento.class);
+        Mockito.verify(repository).buscarConsulta(captor.capture());
+        assertThat(captor.getValue().getAno()).isNull();
+    }
+
+    @Test
+    public void deveRetornarCursorQuandoHouverMaisLancamentos() {
+        Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+        primeiro.setId(1L);
+        Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+        segundo.setId(2L);
+        Lancamento terceiro = LancamentoRepositoryTest.criarLancamento();
+        terceiro.setId(3L);
+
+        Lancamento filtro = new Lancamento();
+        Mockito.when(repository.buscarPagina(filtro, null, 3)).thenReturn(Arrays.asList(primeiro, segundo, terceiro));
+
+        PaginaLancamentoDTO pagina = service.buscarPagina(filtro, null, 2);
+
+        assertThat(pagina.getItens()).containsExactly(primeiro, segundo);
+        assertThat(CursorLancamento.decodificar(pagina.getProximoCursor())).isEqualTo(CursorLancamento.de(segundo));
+    }
+
+    @Test
+    public void naoDeveRetornarCursorNaUltimaPagina() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1L);
+
+        Lancamento filtro = new Lancamento();
+        Mockito.when(repository.buscarPagina(Mockito.eq(filtro), Mockito.any(), Mockito.anyInt())).thenReturn(Arrays.asList(lancamento));
+
+        PaginaLancamentoDTO pagina = service.buscarPagina(filtro, CursorLancamento.de(lancamento).codificar(), null);
+
+        assertThat(pagina.getItens()).containsExactly(lancamento);
+        assertThat(pagina.getProximoCursor()).isNull();
+    }
+
+    @Test
+    public void deveLancarErroAoBuscarDescricaoComTermoCurto() {
+        Lancamento filtro = new Lancamento();
+        filtro.setDescricao("ab");
+
+        Throwable erro = catchThrowable(() -> service.buscarPorDescricao(filtro, null));
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe ao menos 3 caracteres da descrição");
+    }
+
+    @Test
+    public void deveLancarErroAoInformarCursorInvalido() {
+        Throwable erro = catchThrowable(() -> service.buscarPagina(new Lancamento(), "cursor-invalido", null));
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Cursor de paginação inválido");
+    }
+
+    @Test
+    public void deveRegistrarTempoDeMetodoComErroDeNegocio() {
+        catchThrowable(() -> service.buscarPagina(new Lancamento(), "cursor-invalido", null));
+
+        assertThat(registry.find("financas.metodo")
+                .tag("classe", "LancamentoServiceImpl")
+                .tag("metodo", "buscarPagina")
+                .tag("resultado", "ERRO_NEGOCIO")
+                .tag("excecao", "RegraNegocioException")
+                .timer()).isNotNull();
     }
 
     @Test
@@ -137,15 +312,64 @@ public class LancamentoServiceTest {
         Mockito.verify(service).atualizar(lancamento);
     }
 
+    @Test
+    public void deveAtualizarStatusEmLoteERetornarConflitos() {
+        Usuario usuario = Usuario.builder().id(1L).build();
+        Lancamento filtro = new Lancamento();
+        filtro.setIdUsuario(usuario);
+        Lancamento travado = LancamentoRepositoryTest.criarLancamento();
+        travado.setId(1L);
+        travado.setIdUsuario(usuario);
+        travado.setStatus(StatusLancamento.PENDENTE);
+        travado.setVersao(4L);
+        List<Long> ids = Arrays.asList(1L, 2L);
+
+        Mockito.when(repository.travarPorIds(1L, StatusLancamento.PENDENTE, ids)).thenReturn(Arrays.asList(travado));
+        Mockito.when(repository.atualizarStatus(2019, Arrays.asList(1L), StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO))
+               .thenReturn(1);
+
+        ResultadoStatusLoteDTO resultado = service.atualizarStatusEmLote(filtro, ids,
+                StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+
+        assertThat(resultado.getQuantidade()).isEqualTo(1);
+        assertThat(resultado.getIds()).containsExactly(1L);
+        assertThat(resultado.getConflitos()).containsExactly(2L);
+        assertThat(travado.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+        assertThat(travado.getVersao()).isEqualTo(5L);
+        Mockito.verify(resumoService).registrarAlteracaoStatus(Arrays.asList(travado), StatusLancamento.PENDENTE);
+        Mockito.verify(eventoService).registrarLote(Arrays.asList(travado), TipoEventoLancamento.STATUS_ALTERADO);
+        Mockito.verifyNoInteractions(saldoService);
+    }
+
+    @Test
+    public void deveAtualizarStatusEmLotePeloPeriodoNoAnoCorrente() {
+        Lancamento filtro = new Lancamento();
+        filtro.setIdUsuario(Usuario.builder().id(1L).build());
+        filtro.setMes(3);
+
+        service.atualizarStatusEmLote(filtro, null, StatusLancamento.PENDENTE, StatusLancamento.CANCELADO);
+
+        Mockito.verify(repository).travarPorPeriodo(1L, StatusLancamento.PENDENTE, Year.now().getValue(), 3);
+        Mockito.verify(repository, Mockito.never()).atualizarStatus(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(eventoService);
+    }
+
+    @Test(expected = RegraNegocioException.class)
+    public void naoDeveAtualizarStatusEmLoteParaOMesmoStatus() {
+        Lancamento filtro = new Lancamento();
+        filtro.setIdUsuario(Usuario.builder().id(1L).build());
+
+        service.atualizarStatusEmLote(filtro, Arrays.asList(1L), StatusLancamento.PENDENTE, StatusLancamento.PENDENTE);
+    }
+
     @Test
     public void deveObterLancamentoPorId() {
         Long id = 1L;
 
-        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
-        lancamento.setId(id);
+        LancamentoConsultaDTO lancamento = LancamentoConsultaDTO.builder().id(id).idUsuario(1L).build();
 
-        Mockito.when(repository.findById(id)).thenReturn(Optional.of(lancamento));
-        Optional<Lancamento> resultado = service.obterPorId(id);
+        Mockito.when(repository.buscarConsultaPorId(id)).thenReturn(Optional.of(lancamento));
+        Optional<LancamentoConsultaDTO> resultado = service.obterPorId(id);
         assertThat(resultado.isPresent()).isTrue();
     }
 
@@ -153,11 +377,8 @@ public class LancamentoServiceTest {
     public void deveRetornarVazioQuandoLancamentoNaoExiste() {
         Long id = 1L;
 
-        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
-        lancamento.setId(id);
-
-        Mockito.when(repository.findById(id)).thenReturn(Optional.empty());
-        Optional<Lancamento> resultado = service.obterPorId(id);
+        Mockito.when(repository.buscarConsultaPorId(id)).thenReturn(Optional.empty());
+        Optional<LancamentoConsultaDTO> resultado = service.obterPorId(id);
         assertThat(resultado.isPresent()).isFalse();
     }
 
@@ -209,11 +430,11 @@ public class LancamentoServiceTest {
         erro = catchThrowable(() -> service.validar(lancamento));
         assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um valor válido");
 
-        lancamento.setValor(BigDecimal.ZERO);
+        lancamento.setValor(Money.ZERO);
         erro = catchThrowable(() -> service.validar(lancamento));
         assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um valor válido");
         //TIPO
-        lancamento.setValor(BigDecimal.valueOf(5));
+        lancamento.setValor(Money.of("5"));
 
         erro = catchThrowable(() -> service.validar(lancamento));
         assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um tipo de lançamento");        
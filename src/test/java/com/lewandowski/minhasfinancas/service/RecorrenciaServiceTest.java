@@ -0,0 +1,131 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.exception.RegraNegocioException;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.Recorrencia;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.implementations.RecorrenciaServiceImpl;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class RecorrenciaServiceTest {
+    @SpyBean
+    RecorrenciaServiceImpl service;
+
+    @MockBean
+    RecorrenciaRepository repository;
+
+    @MockBean
+    LancamentoService lancamentoService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void deveMaterializarOcorrenciasVencidasEAvancarACompetencia() {
+        Recorrencia aluguel = criarRecorrencia(PeriodicidadeRecorrencia.MENSAL, Recorrencia.competencia(2024, 1), null);
+        Mockito.when(repository.travarVencidas(ArgumentMatchers.eq(Recorrencia.competencia(2024, 3)), ArgumentMatchers.anyInt()))
+               .thenReturn(Arrays.asList(aluguel));
+
+        int geradas = service.materializarVencidas(Recorrencia.competencia(2024, 3));
+
+        assertThat(geradas).isEqualTo(3);
+        assertThat(aluguel.getProximaCompetencia()).isEqualTo(Recorrencia.competencia(2024, 4));
+        assertThat(aluguel.isAtiva()).isTrue();
+
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(lancamentoService).salvarLote(captor.capture());
+        assertThat(captor.getValue()).extracting(Lancamento::getMes).containsExactly(1, 2, 3);
+        assertThat(captor.getValue()).allMatch(ocorrencia -> ocorrencia.getAno() == 2024
+                && aluguel.getId().equals(ocorrencia.getIdRecorrencia())
+                && ocorrencia.getIdUsuario() == aluguel.getIdUsuario());
+
+        // cursor no banco antes do salvarLote, que limpa o contexto de persistência
+        InOrder ordem = Mockito.inOrder(repository, lancamentoService);
+        ordem.verify(repository).flush();
+        ordem.verify(lancamentoService).salvarLote(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    public void deveEncerrarRecorrenciaAoPassarDoFim() {
+        Recorrencia seguro = criarRecorrencia(PeriodicidadeRecorrencia.TRIMESTRAL,
+                Recorrencia.competencia(2024, 1), Recorrencia.competencia(2024, 6));
+        Mockito.when(repository.travarVencidas(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt()))
+               .thenReturn(Arrays.asList(seguro));
+
+        int geradas = service.materializarVencidas(Recorrencia.competencia(2024, 12));
+
+        assertThat(geradas).isEqualTo(2);
+        assertThat(seguro.isAtiva()).isFalse();
+    }
+
+    @Test
+    public void naoDeveGerarNadaSemRecorrenciasVencidas() {
+        Mockito.when(repository.travarVencidas(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt()))
+               .thenReturn(Collections.emptyList());
+
+        assertThat(service.materializarVencidas(Recorrencia.competencia(2024, 1))).isZero();
+        Mockito.verify(lancamentoService, Mockito.never()).salvarLote(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void deveComecarPelaCompetenciaInicialAoSalvar() {
+        Recorrencia recorrencia = criarRecorrencia(PeriodicidadeRecorrencia.MENSAL, Recorrencia.competencia(2024, 5), null);
+        recorrencia.setProximaCompetencia(null);
+        recorrencia.setAtiva(false);
+        Mockito.when(repository.save(recorrencia)).thenReturn(recorrencia);
+
+        service.salvar(recorrencia);
+
+        assertThat(recorrencia.getProximaCompetencia()).isEqualTo(Recorrencia.competencia(2024, 5));
+        assertThat(recorrencia.isAtiva()).isTrue();
+    }
+
+    @Test
+    public void naoDeveSalvarRecorrenciaComFimAntesDoInicio() {
+        Recorrencia recorrencia = criarRecorrencia(PeriodicidadeRecorrencia.MENSAL,
+                Recorrencia.competencia(2024, 5), Recorrencia.competencia(2024, 4));
+
+        RegraNegocioException erro = catchThrowableOfType(() -> service.salvar(recorrencia), RegraNegocioException.class);
+
+        assertThat(erro).hasMessage("O fim da recorrência deve ser posterior ao início");
+        Mockito.verify(repository, Mockito.never()).save(ArgumentMatchers.any());
+    }
+
+    public static Recorrencia criarRecorrencia(PeriodicidadeRecorrencia periodicidade, int inicio, Integer fim) {
+        return Recorrencia.builder()
+                .id(1L)
+                .idUsuario(Usuario.builder().id(1L).build())
+                .descricao("aluguel")
+                .valor(Money.of("1500"))
+                .tipo(TipoLancamento.DESPESA)
+                .periodicidade(periodicidade)
+                .competenciaInicio(inicio)
+                .competenciaFim(fim)
+                .proximaCompetencia(inicio)
+                .ativa(true)
+                .build();
+    }
+}
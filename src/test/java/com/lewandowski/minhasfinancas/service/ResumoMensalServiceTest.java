@@ -0,0 +1,113 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaResumoDTO;
+import com.lewandowski.minhasfinancas.dto.ResumoAnualDTO;
+import com.lewandowski.minhasfinancas.dto.ResumoMensalDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.ResumoMensal;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.StatusLancamento;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.lewandowski.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.implementations.ResumoMensalServiceImpl;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class ResumoMensalServiceTest {
+    @SpyBean
+    ResumoMensalServiceImpl service;
+
+    @MockBean
+    ResumoMensalRepository repository;
+
+    @MockBean
+    LancamentoRepository lancamentoRepository;
+
+    @Test
+    public void deveMontarDozeMesesComTotaisPorTipo() {
+        Mockito.when(repository.findByIdUsuarioAndAno(1L, 2023)).thenReturn(Arrays.asList(
+                new ResumoMensal(1L, 2023, 3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, Money.of("1000"), 1L),
+                new ResumoMensal(1L, 2023, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, Money.of("300"), 2L),
+                new ResumoMensal(1L, 2023, 3, TipoLancamento.DESPESA, StatusLancamento.CANCELADO, Money.of("50"), 1L)));
+
+        ResumoAnualDTO resumo = service.obterResumoAnual(1L, 2023);
+
+        assertThat(resumo.getMeses()).hasSize(12);
+        ResumoMensalDTO marco = resumo.getMeses().get(2);
+        assertThat(marco.getMes()).isEqualTo(3);
+        assertThat(marco.getReceitas()).isEqualByComparingTo(Money.of("1000"));
+        assertThat(marco.getDespesas()).isEqualByComparingTo(Money.of("300"));
+        assertThat(marco.getSaldo()).isEqualByComparingTo(Money.of("700"));
+        assertThat(marco.getTotais()).hasSize(3);
+        assertThat(resumo.getMeses().get(0).getTotais()).isEmpty();
+    }
+
+    @Test
+    public void deveAgruparLancamentosDoLoteAntesDeAtualizar() {
+        Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+        primeiro.setIdUsuario(Usuario.builder().id(1L).build());
+        Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+        segundo.setIdUsuario(Usuario.builder().id(1L).build());
+
+        service.registrarInclusoes(Arrays.asList(primeiro, segundo));
+
+        Mockito.verify(repository).somar(1L, 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+                Money.of("20"), 2L);
+    }
+
+    @Test
+    public void deveMoverTotaisDoStatusAnteriorParaONovo() {
+        Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+        primeiro.setIdUsuario(Usuario.builder().id(1L).build());
+        primeiro.setStatus(StatusLancamento.EFETIVADO);
+        Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+        segundo.setIdUsuario(Usuario.builder().id(1L).build());
+        segundo.setStatus(StatusLancamento.EFETIVADO);
+
+        service.registrarAlteracaoStatus(Arrays.asList(primeiro, segundo), StatusLancamento.PENDENTE);
+
+        Mockito.verify(repository).somar(1L, 2019, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+                Money.of("-20"), -2L);
+        Mockito.verify(repository).somar(1L, 2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+                Money.of("20"), 2L);
+    }
+
+    @Test
+    public void deveCorrigirSomenteAsChavesQueSeguemDivergentesDepoisDaTrava() {
+        ResumoMensal marcoRegistrado = new ResumoMensal(1L, 2023, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, Money.of("100"), 1L);
+        ResumoMensal marcoCalculado = new ResumoMensal(1L, 2023, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, Money.of("150"), 2L);
+        ResumoMensal abrilCalculado = new ResumoMensal(1L, 2023, 4, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, Money.of("30"), 1L);
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(marcoRegistrado));
+        Mockito.when(lancamentoRepository.obterResumosMensais()).thenReturn(Arrays.asList(marcoCalculado, abrilCalculado));
+        // abril foi criado por uma inclusão concorrente entre a primeira passada e a trava
+        Mockito.when(repository.travarPorUsuario(Mockito.eq(1L), Mockito.anyCollection())).thenReturn(Arrays.asList(
+                marcoRegistrado, abrilCalculado));
+        Mockito.when(lancamentoRepository.obterResumosMensais(1L)).thenReturn(Arrays.asList(marcoCalculado, abrilCalculado));
+
+        List<DivergenciaResumoDTO> divergencias = service.reconciliar();
+
+        assertThat(divergencias).extracting(DivergenciaResumoDTO::getMes).containsExactly(3);
+        Mockito.verify(repository).somar(1L, 2023, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+                Money.of("50"), 1L);
+        Mockito.verify(repository, Mockito.never()).somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.eq(4),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+    }
+}
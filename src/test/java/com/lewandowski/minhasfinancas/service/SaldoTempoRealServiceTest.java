@@ -0,0 +1,53 @@
+package com.lewandowski.minhasfinancas.service;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.event.SaldoAlteradoEvent;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.implementations.SaldoTempoRealServiceImpl;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "financas.saldo.sse.threads=0")
+public class SaldoTempoRealServiceTest {
+    @SpyBean
+    SaldoTempoRealServiceImpl service;
+
+    @MockBean
+    SaldoUsuarioService saldoService;
+
+    @Autowired
+    ApplicationEventPublisher eventos;
+
+    @Test
+    public void deveCalcularUmaVezPorAlteracaoParaTodasAsConexoesDoUsuario() {
+        Mockito.when(saldoService.obterSaldo(1L)).thenReturn(Money.of("10"));
+        service.assinar(1L);
+        service.assinar(1L);
+        // cálculo síncrono: cada assinatura recebe o valor inicial na hora
+        Mockito.verify(saldoService, Mockito.times(2)).obterSaldo(1L);
+        Mockito.clearInvocations(saldoService);
+
+        eventos.publishEvent(new SaldoAlteradoEvent(1L));
+
+        Mockito.verify(saldoService, Mockito.times(1)).obterSaldo(1L);
+    }
+
+    @Test
+    public void naoDeveCalcularSaldoDeUsuarioSemConexoes() {
+        eventos.publishEvent(new SaldoAlteradoEvent(2L));
+
+        Mockito.verify(saldoService, Mockito.never()).obterSaldo(2L);
+    }
+}
@@ -0,0 +1,150 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.lewandowski.minhasfinancas.dto.DivergenciaSaldoDTO;
+import com.lewandowski.minhasfinancas.model.entity.Lancamento;
+import com.lewandowski.minhasfinancas.model.entity.SaldoUsuario;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.enums.TipoLancamento;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepository;
+import com.lewandowski.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.lewandowski.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.lewandowski.minhasfinancas.model.valor.Money;
+import com.lewandowski.minhasfinancas.service.implementations.SaldoUsuarioServiceImpl;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+    @SpyBean
+    SaldoUsuarioServiceImpl service;
+
+    @MockBean
+    SaldoUsuarioRepository repository;
+
+    @MockBean
+    LancamentoRepository lancamentoRepository;
+
+    @MockBean
+    MarcaAlteracaoService marcaService;
+
+    @Test
+    public void deveCalcularSaldoComReceitasMenosDespesas() {
+        Mockito.when(repository.findByIdUsuario(1L)).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("100")),
+                new SaldoUsuario(1L, TipoLancamento.DESPESA, Money.of("30"))));
+
+        Money saldo = service.obterSaldo(1L);
+
+        assertThat(saldo).isEqualByComparingTo(Money.of("70"));
+    }
+
+    @Test
+    public void deveSomarValorAoIncluirLancamento() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setIdUsuario(Usuario.builder().id(1L).build());
+
+        service.registrarInclusao(lancamento);
+
+        Mockito.verify(repository).somarValor(1L, TipoLancamento.RECEITA, lancamento.getValor());
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any(SaldoUsuario.class));
+        // a marca de uma inclusão avança pelo LancamentoAlteradoEvent, não pelo saldo
+        Mockito.verify(marcaService, Mockito.never()).avancar(Mockito.anyLong());
+    }
+
+    @Test
+    public void deveSubtrairValorAoExcluirLancamento() {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setIdUsuario(Usuario.builder().id(1L).build());
+
+        service.registrarExclusao(lancamento);
+
+        Mockito.verify(repository).somarValor(1L, TipoLancamento.RECEITA, lancamento.getValor().negate());
+    }
+
+    @Test
+    public void deveCorrigirEReportarSaldosDivergentes() {
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("100")),
+                new SaldoUsuario(2L, TipoLancamento.DESPESA, Money.of("10"))));
+        Mockito.when(lancamentoRepository.obterSaldosPorUsuarioETipo()).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("120"))));
+        Mockito.when(repository.travarPorUsuario(1L)).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("100")),
+                new SaldoUsuario(1L, TipoLancamento.DESPESA, Money.ZERO)));
+        Mockito.when(lancamentoRepository.obterSaldosPorTipo(1L)).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("120"))));
+        Mockito.when(repository.travarPorUsuario(2L)).thenReturn(Arrays.asList(
+                new SaldoUsuario(2L, TipoLancamento.RECEITA, Money.ZERO),
+                new SaldoUsuario(2L, TipoLancamento.DESPESA, Money.of("10"))));
+
+        List<DivergenciaSaldoDTO> divergencias = service.reconciliar();
+
+        assertThat(divergencias).hasSize(2);
+        Mockito.verify(repository).somarValor(1L, TipoLancamento.RECEITA, Money.of("20"));
+        Mockito.verify(repository).somarValor(2L, TipoLancamento.DESPESA, Money.of("-10"));
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any(SaldoUsuario.class));
+        Mockito.verify(marcaService, Mockito.times(1)).avancar(1L);
+        Mockito.verify(marcaService, Mockito.times(1)).avancar(2L);
+    }
+
+    @Test
+    public void deveIgnorarDivergenciaQueSumiuDepoisDaTrava() {
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("100"))));
+        Mockito.when(lancamentoRepository.obterSaldosPorUsuarioETipo()).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("120"))));
+        Mockito.when(repository.travarPorUsuario(1L)).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("120")),
+                new SaldoUsuario(1L, TipoLancamento.DESPESA, Money.ZERO)));
+        Mockito.when(lancamentoRepository.obterSaldosPorTipo(1L)).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("120"))));
+
+        List<DivergenciaSaldoDTO> divergencias = service.reconciliar();
+
+        assertThat(divergencias).isEmpty();
+        Mockito.verify(repository, Mockito.never()).somarValor(Mockito.eq(1L), Mockito.any(), Mockito.argThat(v -> !v.isZero()));
+        Mockito.verify(marcaService, Mockito.never()).avancar(1L);
+    }
+
+    @Test
+    public void deveConfirmarCadaUsuarioAntesDeTravarOProximo() {
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(
+                new SaldoUsuario(1L, TipoLancamento.RECEITA, Money.of("100")),
+                new SaldoUsuario(2L, TipoLancamento.RECEITA, Money.of("100"))));
+        List<Long> confirmados = new ArrayList<>();
+        List<Long> confirmadosAoTravar = new ArrayList<>();
+        Mockito.when(repository.travarPorUsuario(Mockito.anyLong())).thenAnswer(chamada -> {
+            Long idUsuario = chamada.getArgument(0);
+            confirmadosAoTravar.addAll(confirmados);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    confirmados.add(idUsuario);
+                }
+            });
+            return Arrays.asList(new SaldoUsuario(idUsuario, TipoLancamento.RECEITA, Money.of("100")));
+        });
+
+        service.reconciliar();
+
+        assertThat(confirmados).containsExactly(1L, 2L);
+        assertThat(confirmadosAoTravar).containsExactly(1L);
+    }
+}
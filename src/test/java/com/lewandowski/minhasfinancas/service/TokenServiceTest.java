@@ -0,0 +1,61 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lewandowski.minhasfinancas.dto.TokenDTO;
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.security.UsuarioAutenticado;
+import com.lewandowski.minhasfinancas.service.implementations.JwtTokenServiceImpl;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class TokenServiceTest {
+    @SpyBean
+    JwtTokenServiceImpl service;
+
+    @Test
+    public void deveEmitirTokenValidavelSemConsultarBanco() {
+        Usuario usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").senha("123").build();
+
+        TokenDTO token = service.emitir(usuario);
+        Optional<UsuarioAutenticado> autenticado = service.validar(token.getToken());
+
+        assertThat(token.getTipo()).isEqualTo("Bearer");
+        assertThat(token.getToken()).doesNotContain("123");
+        assertThat(autenticado).isPresent();
+        assertThat(autenticado.get().getId()).isEqualTo(1L);
+        assertThat(autenticado.get().getEmail()).isEqualTo("usuario@email.com");
+    }
+
+    @Test
+    public void deveRejeitarTokenAdulterado() {
+        Usuario usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+        String token = service.emitir(usuario).getToken();
+        String[] partes = token.split("\\.");
+        String outro = service.emitir(Usuario.builder().id(2L).nome("outro").email("outro@email.com").build()).getToken();
+
+        String adulterado = partes[0] + "." + outro.split("\\.")[1] + "." + partes[2];
+
+        assertThat(service.validar(adulterado)).isEmpty();
+        assertThat(service.validar("nao-e-um-token")).isEmpty();
+    }
+
+    @Test
+    public void naoDeveSubirSemSegredoConfigurado() {
+        assertThatThrownBy(() -> new JwtTokenServiceImpl("", 30, new ObjectMapper()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("FINANCAS_TOKEN_SEGREDO");
+    }
+}
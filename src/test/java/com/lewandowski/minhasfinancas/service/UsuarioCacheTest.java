@@ -0,0 +1,83 @@
+package com.lewandowski.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.lewandowski.minhasfinancas.model.entity.Usuario;
+import com.lewandowski.minhasfinancas.model.repository.UsuarioRepository;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.cache.type=caffeine",
+    "spring.cache.cache-names=usuarios,lancamentos"
+})
+public class UsuarioCacheTest {
+    @Autowired
+    UsuarioService service;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    UsuarioRepository repository;
+
+    @Before
+    public void limparCache() {
+        cacheManager.getCache("usuarios").clear();
+    }
+
+    @Test
+    public void deveConsultarRepositorioUmaVezParaLeiturasRepetidas() {
+        Usuario usuario = Usuario.builder().id(1L).email("usuario@email.com").build();
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        service.obterPorId(1L);
+        Optional<Usuario> resultado = service.obterPorId(1L);
+
+        assertThat(resultado).contains(usuario);
+        Mockito.verify(repository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void deveServirUsuarioSalvoSemIrAoBanco() {
+        Usuario antigo = Usuario.builder().id(1L).nome("antigo").email("usuario@email.com").build();
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(antigo));
+        service.obterPorId(1L);
+
+        Usuario atualizado = Usuario.builder().id(1L).nome("atualizado").email("usuario@email.com").senha("senha").build();
+        Mockito.when(repository.save(Mockito.any(Usuario.class))).thenReturn(atualizado);
+        service.salvarUsuario(atualizado);
+
+        assertThat(service.obterPorId(1L)).contains(atualizado);
+        Mockito.verify(repository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void deveInvalidarCacheAoRecodificarSenha() {
+        Usuario usuario = Usuario.builder().id(1L).email("usuario@email.com").senha("senha").build();
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        Mockito.when(repository.buscarPorEmail("usuario@email.com")).thenReturn(Optional.of(usuario));
+        service.obterPorId(1L);
+
+        service.autenticar("usuario@email.com", "senha").join();
+        service.obterPorId(1L);
+
+        // uma leitura antes da recodificação e outra depois da invalidação
+        Mockito.verify(repository, Mockito.times(2)).findById(1L);
+    }
+}
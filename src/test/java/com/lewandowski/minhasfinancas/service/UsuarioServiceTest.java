@@ -1,11 +1,13 @@
 package com.lewandowski.minhasfinancas.service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
@@ -18,6 +20,8 @@ import com.lewandowski.minhasfinancas.model.entity.Usuario;
 import com.lewandowski.minhasfinancas.model.repository.UsuarioRepository;
 import com.lewandowski.minhasfinancas.service.implementations.UsuarioServiceImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @SpringBootTest
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
@@ -28,6 +32,9 @@ public class UsuarioServiceTest {
     @MockBean
     UsuarioRepository repository;
 
+    @Autowired
+    MeterRegistry registry;
+
     @Test(expected = Test.None.class)
     public void deveSalvarUsuario() {
         Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
@@ -42,7 +49,7 @@ public class UsuarioServiceTest {
         Assertions.assertThat(usuarioSalvo).isNotNull();
         Assertions.assertThat(usuarioSalvo.getNome()).isEqualTo("nome");
         Assertions.assertThat(usuarioSalvo.getEmail()).isEqualTo("email@email.com");
-        Assertions.assertThat(usuarioSalvo.getSenha()).isEqualTo("senha");
+        Assertions.assertThat(usuarioSalvo.getSenha()).isNotEqualTo("senha").startsWith("$2a$");
     }
 
     @Test(expected = RegraNegocioException.class)
@@ -60,15 +67,46 @@ public class UsuarioServiceTest {
         String senha = "senha";
 
         Usuario usuario = Usuario.builder().email(email).senha(senha).build();
-        Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+        Mockito.when(repository.buscarPorEmail(email)).thenReturn(Optional.of(usuario));
 
-        Usuario result = service.autenticar(email, senha);
+        Usuario result = service.autenticar(email, senha).join();
         Assertions.assertThat(result).isNotNull();
     }
 
+    @Test
+    public void deveRecodificarSenhaLegadaAoAutenticar() {
+        String email = "email@email.com";
+        String senha = "senha";
+
+        Usuario usuario = Usuario.builder().email(email).senha(senha).build();
+        Mockito.when(repository.buscarPorEmail(email)).thenReturn(Optional.of(usuario));
+
+        service.autenticar(email, senha).join();
+
+        Assertions.assertThat(usuario.getSenha()).startsWith("$2a$");
+        Mockito.verify(repository).save(usuario);
+        Assertions.assertThat(service.autenticar(email, senha).join()).isNotNull();
+    }
+
+    @Test
+    public void deveAutenticarEContarFalhaAoGravarSenhaRecodificada() {
+        String email = "email@email.com";
+        String senha = "senha";
+
+        Usuario usuario = Usuario.builder().email(email).senha(senha).build();
+        Mockito.when(repository.buscarPorEmail(email)).thenReturn(Optional.of(usuario));
+        Mockito.when(repository.save(usuario)).thenThrow(new IllegalStateException("banco indisponível"));
+        double falhas = registry.counter("financas.senha.recodificacao.falhas").count();
+
+        Usuario result = service.autenticar(email, senha).join();
+
+        Assertions.assertThat(result.getSenha()).isEqualTo(senha);
+        Assertions.assertThat(registry.counter("financas.senha.recodificacao.falhas").count()).isEqualTo(falhas + 1);
+    }
+
     @Test
     public void erroAoNaoEncontrarUsuarioComEmailInformado() {
-        Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(repository.buscarPorEmail(Mockito.anyString())).thenReturn(Optional.empty());
         Throwable exception = Assertions.catchThrowable(() -> service.autenticar("email@email.com", "123"));
         Assertions.assertThat(exception).isInstanceOf(ErroAutenticacaoException.class)
                 .hasMessage("Usuario não encontrado");
@@ -78,10 +116,11 @@ public class UsuarioServiceTest {
     public void erroAoInserirSenhaInvalida() {
         String senha = "senha";
         Usuario usuario = Usuario.builder().email("email@email.com").senha(senha).build();
-        Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
+        Mockito.when(repository.buscarPorEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
 
-        Throwable exception = Assertions.catchThrowable(() -> service.autenticar("email@email.com", "123"));
-        Assertions.assertThat(exception).isInstanceOf(ErroAutenticacaoException.class).hasMessage("Senha inválida");
+        Throwable exception = Assertions.catchThrowable(() -> service.autenticar("email@email.com", "123").join());
+        Assertions.assertThat(exception).isInstanceOf(CompletionException.class);
+        Assertions.assertThat(exception.getCause()).isInstanceOf(ErroAutenticacaoException.class).hasMessage("Senha inválida");
     }
 
     @Test(expected = Test.None.class)